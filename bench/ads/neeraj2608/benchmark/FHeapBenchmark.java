@@ -0,0 +1,196 @@
+package ads.neeraj2608.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ads.neeraj2608.types.fheapscheme.ArrayFHeap;
+import ads.neeraj2608.types.fheapscheme.FHeap;
+import ads.neeraj2608.types.fheapscheme.FHeapNode;
+
+/**
+ * Benchmarks the raw F-heap operations, for both the node-based FHeap and the
+ * ArrayFHeap used by the f-heap scheme. Every benchmark builds a fresh heap of
+ * heapSize nodes from keys generated once per fork with a fixed seed.
+ * <ul>
+ * <li><b>insert</b> inserts all nodes
+ * <li><b>insertDeleteAll</b> inserts all nodes, then deletes the minimum
+ * until the heap is empty
+ * <li><b>primWorkload</b> inserts all nodes, then runs decreasesPerDeleteMin
+ * decrease keys on random nodes still in the heap before every delete min, as
+ * Prim's algorithm does on a graph of that average degree. Every decrease
+ * takes a random amount off the node's current key, so each one really
+ * lowers it (keys may drop below 0, which the heaps handle like any other).
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FHeapBenchmark{
+
+  private static final long SEED         = 2608;
+
+  private static final int  MAX_KEY      = 1000000;
+
+  @Param({"1000", "100000"})
+  public int                heapSize;
+
+  @Param({"4"})
+  public int                decreasesPerDeleteMin;
+
+  private int[]             keys;
+
+  private int[]             decreasePicks;      // picks the node of every decrease key, in order, among the nodes still in the heap
+
+  private int[]             decreaseAmounts;    // how much to take off the node's key
+
+  @Setup(Level.Trial)
+  public void generateWorkload(){
+    Random random = new Random(SEED);
+    keys = new int[heapSize];
+    for(int i = 0; i < heapSize; i++){
+      keys[i] = random.nextInt(MAX_KEY);
+    }
+    decreasePicks = new int[heapSize * decreasesPerDeleteMin];
+    decreaseAmounts = new int[decreasePicks.length];
+    for(int i = 0; i < decreasePicks.length; i++){
+      decreasePicks[i] = random.nextInt(Integer.MAX_VALUE);
+      decreaseAmounts[i] = 1 + random.nextInt(MAX_KEY / 10);
+    }
+  }
+
+  @Benchmark
+  public FHeap fHeapInsert(){
+    FHeap heap = new FHeap();
+    for(int i = 0; i < heapSize; i++){
+      heap.insert(i, keys[i]);
+    }
+    return heap;
+  }
+
+  @Benchmark
+  public int fHeapInsertDeleteAll(){
+    FHeap heap = fHeapInsert();
+    int checksum = 0;
+    while(heap.getSize() > 0){
+      checksum += heap.deleteMin().getCost();
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public int fHeapPrimWorkload(){
+    FHeap heap = fHeapInsert();
+    PrimWorkload workload = new PrimWorkload(keys);
+    int checksum = 0;
+    int nextDecrease = 0;
+    while(heap.getSize() > 0){
+      for(int i = 0; i < decreasesPerDeleteMin; i++, nextDecrease++){
+        int node = workload.pickNode(decreasePicks[nextDecrease]);
+        heap.decreaseKey(heap.getNodeList().get(node), workload.decreaseKey(node, decreaseAmounts[nextDecrease]), node);
+      }
+      FHeapNode min = heap.deleteMin();
+      workload.delete(min.getIndex());
+      checksum += min.getCost();
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public ArrayFHeap arrayFHeapInsert(){
+    ArrayFHeap heap = new ArrayFHeap(heapSize);
+    for(int i = 0; i < heapSize; i++){
+      heap.insert(i, keys[i]);
+    }
+    return heap;
+  }
+
+  @Benchmark
+  public int arrayFHeapInsertDeleteAll(){
+    ArrayFHeap heap = arrayFHeapInsert();
+    int checksum = 0;
+    while(!heap.isEmpty()){
+      checksum += heap.getCost(heap.deleteMin());
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public int arrayFHeapPrimWorkload(){
+    ArrayFHeap heap = arrayFHeapInsert();
+    PrimWorkload workload = new PrimWorkload(keys);
+    int checksum = 0;
+    int nextDecrease = 0;
+    while(!heap.isEmpty()){
+      for(int i = 0; i < decreasesPerDeleteMin; i++, nextDecrease++){
+        int node = workload.pickNode(decreasePicks[nextDecrease]);
+        heap.decreaseKey(node, workload.decreaseKey(node, decreaseAmounts[nextDecrease]), node);
+      }
+      int min = heap.deleteMin();
+      workload.delete(min);
+      checksum += heap.getCost(min);
+    }
+    return checksum;
+  }
+
+  /**
+   * Current key of every node and the set of nodes still in the heap, so that
+   * the prim workload only decreases keys that are in the heap, and always
+   * below their current value. Both heaps see the same sequence of operations.
+   */
+  private static class PrimWorkload{
+
+    private int[] keys;
+
+    private int[] liveNodes;    // the nodes still in the heap, in liveNodes[0, numLive)
+
+    private int[] positions;    // where every live node is in liveNodes
+
+    private int   numLive;
+
+    PrimWorkload(int[] keys){
+      this.keys = keys.clone();
+      liveNodes = new int[keys.length];
+      positions = new int[keys.length];
+      for(int node = 0; node < keys.length; node++){
+        liveNodes[node] = node;
+        positions[node] = node;
+      }
+      numLive = keys.length;
+    }
+
+    int pickNode(int pick){
+      return liveNodes[pick % numLive];
+    }
+
+    /**
+     * @return the new key of the node
+     */
+    int decreaseKey(int node, int amount){
+      keys[node] -= amount;
+      return keys[node];
+    }
+
+    void delete(int node){
+      int last = liveNodes[--numLive];
+      liveNodes[positions[node]] = last;
+      positions[last] = positions[node];
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+package ads.neeraj2608.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ads.neeraj2608.mst.common.GraphGenerator;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Graph;
+
+/**
+ * Benchmarks random graph generation, which the randomized experiment
+ * interleaves with its MST timings, in CSR form and as the adjacency list the
+ * experiment runs on. Both sample the same graphs; the adjacency list takes
+ * about 80 bytes per arc, so the largest graphs, which would need 2 GB, are
+ * left out of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class GraphGeneratorBenchmark{
+
+  private static final long SEED = 42;
+
+  @State(Scope.Benchmark)
+  public static class AdjListSize{
+
+    @Param({"1000", "3000"})
+    public int numVertices;
+
+    @Param({"10", "50", "100"})
+    public int density;     // in percent, as in the console
+  }
+
+  @State(Scope.Benchmark)
+  public static class SeededSize{
+
+    @Param({"1000", "3000", "5000"})
+    public int numVertices;
+
+    @Param({"10", "50", "100"})
+    public int density;     // in percent, as in the console
+  }
+
+  @Benchmark
+  public Graph generateGraph(AdjListSize size){
+    return GraphGenerator.generateGraph(size.numVertices, size.density / 100.0);
+  }
+
+  @Benchmark
+  public CSRGraph generateCSRGraph(SeededSize size){
+    return GraphGenerator.generateCSRGraph(size.numVertices, size.density / 100.0, SEED);
+  }
+
+}
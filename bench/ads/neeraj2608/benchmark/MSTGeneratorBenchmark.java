@@ -0,0 +1,104 @@
+package ads.neeraj2608.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ads.neeraj2608.mst.common.GraphGenerator;
+import ads.neeraj2608.mst.fheapscheme.FHeapSchemeMSTGenerator;
+import ads.neeraj2608.mst.simplescheme.SimpleSchemeMSTGenerator;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+
+/**
+ * Benchmarks the simple and f-heap schemes on random graphs from the seeded
+ * generator, so every fork measures the same graphs. The graphs are generated
+ * once per trial, outside the measurement, in CSR form and, for the
+ * adjacency list benchmarks, as an adjacency list with the same edges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class MSTGeneratorBenchmark{
+
+  private static final long SEED = 42;
+
+  @State(Scope.Benchmark)
+  public static class Fixture{
+
+    @Param({"1000", "3000", "5000"})
+    public int      numVertices;
+
+    @Param({"10", "50", "100"})
+    public int      density;      // in percent, as in the console
+
+    private CSRGraph csrGraph;
+
+    @Setup(Level.Trial)
+    public void generateGraph(){
+      csrGraph = GraphGenerator.generateCSRGraph(numVertices, density / 100.0, SEED);
+    }
+  }
+
+  /**
+   * The same graphs as an adjacency list. It takes about 80 bytes per arc, so
+   * the largest graphs, which would need 2 GB, are left out.
+   */
+  @State(Scope.Benchmark)
+  public static class AdjListFixture{
+
+    @Param({"1000", "3000"})
+    public int   numVertices;
+
+    @Param({"10", "50", "100"})
+    public int   density;      // in percent, as in the console
+
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    public void generateGraph(){
+      graph = GraphGenerator.generateCSRGraph(numVertices, density / 100.0, SEED).toGraph();
+    }
+  }
+
+  private SimpleSchemeMSTGenerator simpleScheme = new SimpleSchemeMSTGenerator();
+
+  private FHeapSchemeMSTGenerator  fHeapScheme  = new FHeapSchemeMSTGenerator();
+
+  @Benchmark
+  public List<Edge> simpleScheme(AdjListFixture fixture){
+    return simpleScheme.generateMST(fixture.graph);
+  }
+
+  @Benchmark
+  public List<Edge> simpleSchemeCSR(Fixture fixture){
+    return simpleScheme.generateMST(fixture.csrGraph);
+  }
+
+  @Benchmark
+  public List<Edge> fHeapScheme(AdjListFixture fixture){
+    return fHeapScheme.generateMST(fixture.graph);
+  }
+
+  @Benchmark
+  public List<Edge> fHeapSchemeCSR(Fixture fixture){
+    return fHeapScheme.generateMST(fixture.csrGraph);
+  }
+
+}
@@ -0,0 +1,225 @@
+package ads.neeraj2608.mst.boruvkascheme;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.mst.common.ParallelLoop;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.ConcurrentUnionFind;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+
+/**
+ * Class that generates the minimum spanning tree using a parallel version of
+ * Boruvka's algorithm. Every round runs three parallel passes over the vertices
+ * on a fork/join pool:
+ * <ol>
+ * <li>label every vertex with the root of its component and reset the
+ * cheapest edge of every component
+ * <li>find the cheapest arc leaving every vertex's component, and fold it into
+ * the component's entry with an atomic compare-and-set minimum
+ * <li>add the cheapest edge of every component to the tree by merging its
+ * endpoints in a {@link ConcurrentUnionFind}
+ * </ol>
+ * The number of components at least halves every round, so there are O(log n)
+ * rounds. Rounds stop when no component has an outgoing edge left.
+ * <p>
+ * Arcs are compared by (cost, arc index). Ties between equal cost edges may
+ * still make two components pick different edges that close a cycle; the
+ * union-find rejects the edge that would close it, and the tree stays minimal.
+ * </p>
+ */
+public class BoruvkaMSTGenerator implements MSTGeneratorInterface{
+
+  private static final long NO_EDGE = Long.MAX_VALUE;
+
+  private ForkJoinPool      pool;
+
+  public BoruvkaMSTGenerator(){
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param pool
+   *          fork/join pool to run the parallel passes on
+   */
+  public BoruvkaMSTGenerator(ForkJoinPool pool){
+    this.pool = pool;
+  }
+
+  /*
+   * (non-Javadoc) The adjacency list is converted to CSR form first; the
+   * parallel passes need random access to the arcs of every vertex.
+   */
+  @Override
+  public List<Edge> generateMST(Graph graph){
+    return generateMST(CSRGraph.fromGraph(graph));
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    final int numVertices = graph.getNumVertices();
+    final int[] offsets = graph.getOffsets();
+    final int[] targets = graph.getTargets();
+    final int[] weights = graph.getWeights();
+
+    final ConcurrentUnionFind components = new ConcurrentUnionFind(numVertices);
+    final int[] labels = new int[numVertices];
+    final AtomicLongArray cheapestArcs = new AtomicLongArray(numVertices); // indexed by component root; packed (cost, arc index)
+    final int[] addedArcs = new int[numVertices];                          // indexed by component root; the arc added this round, or -1
+    List<Edge> generatedMST = new ArrayList<Edge>(Math.max(numVertices - 1, 0));
+
+    boolean edgesAdded = true;
+    while(edgesAdded && generatedMST.size() < numVertices - 1){
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          labels[vertex] = components.find(vertex);
+          cheapestArcs.set(vertex, NO_EDGE);
+          addedArcs[vertex] = -1;
+        }
+      });
+
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          int label = labels[vertex];
+          long cheapest = NO_EDGE;
+          for(int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++){
+            if(labels[targets[arc]] != label){
+              long key = ((long) weights[arc] << 32) | arc;
+              if(key < cheapest)
+                cheapest = key;
+            }
+          }
+          long current;
+          while(cheapest < (current = cheapestArcs.get(label)) && !cheapestArcs.compareAndSet(label, current, cheapest));
+        }
+      });
+
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          long cheapest = cheapestArcs.get(vertex);
+          if(labels[vertex] == vertex && cheapest != NO_EDGE){
+            int arc = (int) cheapest;
+            if(components.union(sourceOf(offsets, arc), targets[arc]))
+              addedArcs[vertex] = arc;
+          }
+        }
+      });
+
+      edgesAdded = false;
+      for(int vertex = 0; vertex < numVertices; vertex++){
+        int arc = addedArcs[vertex];
+        if(arc != -1){
+          generatedMST.add(new Edge(sourceOf(offsets, arc), targets[arc], weights[arc], false));
+          edgesAdded = true;
+        }
+      }
+    }
+
+    return generatedMST;
+  }
+
+  /*
+   * (non-Javadoc) Same passes, reading the arcs through the CSRAdjacency
+   * accessors. Arc numbers are packed into the low 32 bits next to the cost,
+   * so graphs with 2^32 or more arcs are not supported.
+   */
+  @Override
+  public List<Edge> generateMST(final CSRAdjacency graph){
+    if(graph instanceof CSRGraph)
+      return generateMST((CSRGraph) graph);
+    if(graph.getNumArcs() > 0xFFFFFFFFL)
+      throw new IllegalArgumentException("Error: too many arcs for the parallel boruvka scheme: " + graph.getNumArcs());
+
+    final int numVertices = graph.getNumVertices();
+    final ConcurrentUnionFind components = new ConcurrentUnionFind(numVertices);
+    final int[] labels = new int[numVertices];
+    final AtomicLongArray cheapestArcs = new AtomicLongArray(numVertices);
+    final long[] addedArcs = new long[numVertices];
+    List<Edge> generatedMST = new ArrayList<Edge>(Math.max(numVertices - 1, 0));
+
+    boolean edgesAdded = true;
+    while(edgesAdded && generatedMST.size() < numVertices - 1){
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          labels[vertex] = components.find(vertex);
+          cheapestArcs.set(vertex, NO_EDGE);
+          addedArcs[vertex] = -1;
+        }
+      });
+
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          int label = labels[vertex];
+          long cheapest = NO_EDGE;
+          long endArc = graph.getEndArc(vertex);
+          for(long arc = graph.getFirstArc(vertex); arc < endArc; arc++){
+            if(labels[graph.getTarget(arc)] != label){
+              long key = ((long) graph.getWeight(arc) << 32) | arc;
+              if(key < cheapest)
+                cheapest = key;
+            }
+          }
+          long current;
+          while(cheapest < (current = cheapestArcs.get(label)) && !cheapestArcs.compareAndSet(label, current, cheapest));
+        }
+      });
+
+      ParallelLoop.forRange(pool, 0, numVertices, (from, to) -> {
+        for(int vertex = from; vertex < to; vertex++){
+          long cheapest = cheapestArcs.get(vertex);
+          if(labels[vertex] == vertex && cheapest != NO_EDGE){
+            long arc = cheapest & 0xFFFFFFFFL;
+            if(components.union(sourceOf(graph, arc), graph.getTarget(arc)))
+              addedArcs[vertex] = arc;
+          }
+        }
+      });
+
+      edgesAdded = false;
+      for(int vertex = 0; vertex < numVertices; vertex++){
+        long arc = addedArcs[vertex];
+        if(arc != -1){
+          generatedMST.add(new Edge(sourceOf(graph, arc), graph.getTarget(arc), graph.getWeight(arc), false));
+          edgesAdded = true;
+        }
+      }
+    }
+
+    return generatedMST;
+  }
+
+  /**
+   * Binary search for the vertex whose arcs include the given arc
+   */
+  private static int sourceOf(int[] offsets, int arc){
+    int low = 0;
+    int high = offsets.length - 2;
+    while(low < high){
+      int middle = (low + high + 1) >>> 1;
+      if(offsets[middle] <= arc)
+        low = middle;
+      else
+        high = middle - 1;
+    }
+    return low;
+  }
+
+  private static int sourceOf(CSRAdjacency graph, long arc){
+    int low = 0;
+    int high = graph.getNumVertices() - 1;
+    while(low < high){
+      int middle = (low + high + 1) >>> 1;
+      if(graph.getFirstArc(middle) <= arc)
+        low = middle;
+      else
+        high = middle - 1;
+    }
+    return low;
+  }
+
+}
@@ -0,0 +1,105 @@
+package ads.neeraj2608.mst.bucketscheme;
+
+import java.util.List;
+
+import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.mst.common.MSTResult;
+import ads.neeraj2608.mst.common.PrimMSTGenerator;
+import ads.neeraj2608.mst.daryheapscheme.DaryHeapSchemeMSTGenerator;
+import ads.neeraj2608.types.bucketscheme.BucketQueue;
+import ads.neeraj2608.types.common.AdjListNode;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * Class that generates the minimum spanning tree using a bucket queue based
+ * implementation of Prim's shortest path algorithm. The edge weights of the
+ * graph are checked first: if they are all integers in [0, maxBucketedWeight],
+ * Prim runs on a {@link BucketQueue} with one bucket per weight, which turns
+ * every decreaseKey into an O(1) list move. Otherwise it falls back to the
+ * d-ary heap scheme.
+ */
+public class BucketSchemeMSTGenerator implements MSTGeneratorInterface{
+
+  public static final int DEFAULT_MAX_BUCKETED_WEIGHT = 1 << 12;
+
+  private int             maxBucketedWeight;
+
+  public BucketSchemeMSTGenerator(){
+    this(DEFAULT_MAX_BUCKETED_WEIGHT);
+  }
+
+  /**
+   * @param maxBucketedWeight
+   *          largest edge weight for which the bucket queue is used
+   */
+  public BucketSchemeMSTGenerator(int maxBucketedWeight){
+    this.maxBucketedWeight = maxBucketedWeight;
+  }
+
+  @Override
+  public List<Edge> generateMST(Graph graph){
+    int minWeight = 0;
+    int maxWeight = 0;
+    for(List<AdjListNode> nodes: graph.getAdjList()){
+      for(AdjListNode node: nodes){
+        minWeight = Math.min(minWeight, node.getEdge().getCost());
+        maxWeight = Math.max(maxWeight, node.getEdge().getCost());
+      }
+    }
+    return selectGenerator(minWeight, maxWeight).generateMST(graph);
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRAdjacency graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  @Override
+  public MSTResult generateMSTResult(CSRAdjacency graph){
+    int minWeight = 0;
+    int maxWeight = 0;
+    if(graph instanceof CSRGraph){
+      int[] weights = ((CSRGraph) graph).getWeights();
+      for(int arc = 0; arc < weights.length; arc++){
+        minWeight = Math.min(minWeight, weights[arc]);
+        maxWeight = Math.max(maxWeight, weights[arc]);
+      }
+    } else{
+      for(long arc = 0; arc < graph.getNumArcs(); arc++){
+        minWeight = Math.min(minWeight, graph.getWeight(arc));
+        maxWeight = Math.max(maxWeight, graph.getWeight(arc));
+      }
+    }
+    return selectGenerator(minWeight, maxWeight).generateMSTResult(graph);
+  }
+
+  /**
+   * @return a Prim generator over a bucket queue sized to the weight range if
+   *         the weights are bucketable, the d-ary heap scheme otherwise
+   */
+  private MSTGeneratorInterface selectGenerator(int minWeight, final int maxWeight){
+    if(minWeight < 0 || maxWeight > maxBucketedWeight)
+      return new DaryHeapSchemeMSTGenerator();
+
+    return new PrimMSTGenerator(){
+      @Override
+      protected IndexedMinPriorityQueue createQueue(int numVertices){
+        return new BucketQueue(numVertices, maxWeight);
+      }
+    };
+  }
+
+  public int getMaxBucketedWeight(){
+    return maxBucketedWeight;
+  }
+
+}
@@ -6,6 +6,8 @@ import ads.neeraj2608.mst.fheapscheme.FHeapSchemeMSTGenerator;
 import ads.neeraj2608.mst.simplescheme.SimpleSchemeMSTGenerator;
 import ads.neeraj2608.types.common.Edge;
 import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+import ads.neeraj2608.types.fheapscheme.FHeapQueue;
 
 /**
  * This class only used for development and debugging!!
@@ -33,7 +35,16 @@ public class Controller{
 
       int total2 = printResults(finalMST);
 
-      /*if(total1 != total2)
+      finalMST = new PrimMSTGenerator(){ // Prim over the node object based F-heap
+        @Override
+        protected IndexedMinPriorityQueue createQueue(int numVertices){
+          return new FHeapQueue();
+        }
+      }.generateMST(graph);
+
+      int total3 = printResults(finalMST);
+
+      /*if(total1 != total2 || total1 != total3)
         break;
     }*/
     
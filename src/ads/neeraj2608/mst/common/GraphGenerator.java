@@ -2,9 +2,14 @@ package ads.neeraj2608.mst.common;
 
 import static ads.neeraj2608.mst.common.Controller.DEBUG;
 
-import java.util.HashSet;
-import ads.neeraj2608.types.common.AdjListNode;
-import ads.neeraj2608.types.common.Edge;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import ads.neeraj2608.types.common.CSRGraph;
 import ads.neeraj2608.types.common.Graph;
 
 /**
@@ -12,161 +17,266 @@ import ads.neeraj2608.types.common.Graph;
  */
 public class GraphGenerator{
   
-  private static final int SENTINEL = -1; // used to indicate that a given graph node has NO incoming edges as yet
   private static final int MAX_EDGE_COST = 1000; // the maximum possible cost of an edge in the graph
+  private static final int MAX_TASKS = 64; // fixed, so that the graph for a seed does not depend on the number of cores
+  private static final long MIN_PAIRS_PER_TASK = 1 << 16;
+  private static final int DENSE_SAMPLE_RATIO = 16; // samples of at least 1/16 of the range are drawn into a bitset
 
   /**
-   * Creates a random undirected connected graph with the specified size and edge density.
+   * Creates a random undirected connected graph with the specified size and
+   * edge density, as an adjacency list. The graph is sampled the same way as
+   * by {@link #generateCSRGraph(int, double, long)}, from a random seed, so it
+   * is connected by construction and has exactly the edges the density asks
+   * for.
    * 
    * @param numVertices
    *          number of vertices in graph
    * @param density
-   *          edge density of graph
+   *          edge density of graph, in [0, 1]
    * @return the Graph object representing the created graph
    */
   public static Graph generateGraph(int numVertices, double density){
-    Graph graph = null;
-    
-    while(notConnected(graph = createAndPopulateGraph(numVertices, density)));
-    
-    return graph;
-  }
-
-  private static Graph createAndPopulateGraph(int numVertices, double density){
     if(DEBUG)
       return createTestGraph(numVertices);
-    
-    return uniformSpanningTreeApproach(numVertices, density);
+
+    return generateCSRGraph(numVertices, density, new SplittableRandom().nextLong()).toGraph();
   }
 
   /**
-   * Method to ensure that the generated graph is connected. Runs a depth-first
-   * search on the graph to do so.
-   * 
-   * @param graph
-   *          graph object to check
-   * @return true if <b>NOT</b> connected, false otherwise. False is good!
+   * Creates a random undirected connected graph in CSR form, reproducibly from
+   * a seed. The graph is connected by construction: a random spanning tree is
+   * laid down first (every vertex, in a random order, is joined to a random
+   * vertex before it), and then exactly as many other vertex pairs as the
+   * density asks for are added as edges, chosen without replacement. The pairs
+   * are split into row ranges that are sampled in parallel, each with its own
+   * {@link SplittableRandom} split off the seeded one, so the same seed always
+   * gives the same graph. Every range gets its share of the edges in
+   * proportion to its number of pairs, and picks them by pair index (see
+   * {@link #addRandomEdges}), so the work is O(n + m) at any density.
+   *
+   * @param numVertices
+   *          number of vertices in graph
+   * @param density
+   *          edge density of graph, in [0, 1]; the graph has
+   *          max(density * n * (n - 1) / 2, n - 1) edges
+   * @param seed
+   *          seed of the random numbers
+   * @return the created graph
    */
-  private static boolean notConnected(Graph graph){
-    int startDFSAt = graph.selectARandomNode();
-    
-    HashSet<Integer> visitedNodes = new HashSet<Integer>();
-    visitedNodes.add(startDFSAt);
-    
-    runDFSFromNode(startDFSAt, visitedNodes, graph);
-    
-    if(visitedNodes.size() == graph.getNumVertices())
-      return false;
-    
-    return true;
+  public static CSRGraph generateCSRGraph(int numVertices, double density, long seed){
+    return generateCSRGraph(numVertices, density, seed, ForkJoinPool.commonPool());
   }
 
   /**
-   * Runs depth-first search on the given graph (recursive method).
-   * 
-   * @param startNode node to start DFS at
-   * @param visitedNodes hash set that keeps track of all the nodes visited by DFS so far
-   * @param graph graph object to check
+   * @param pool
+   *          fork/join pool to sample the edges on
+   * @see #generateCSRGraph(int, double, long)
    */
-  private static void runDFSFromNode(Integer startNode, HashSet<Integer> visitedNodes, Graph graph){
-    for(AdjListNode node: graph.getAdjList().get(startNode)){
-      if(!visitedNodes.contains(node.getTargetNode())){
-        visitedNodes.add(node.getTargetNode());
-        runDFSFromNode(node.getTargetNode(), visitedNodes, graph);
+  public static CSRGraph generateCSRGraph(final int numVertices, double density, long seed, ForkJoinPool pool){
+    if(numVertices < 1)
+      throw new IllegalArgumentException("Error: a graph needs at least one vertex, got " + numVertices);
+    if(!(density >= 0 && density <= 1))
+      throw new IllegalArgumentException("Error: density must be in [0, 1], got " + density);
+
+    SplittableRandom random = new SplittableRandom(seed);
+    int[] parents = new int[numVertices]; // tree parent of every vertex, or -1 for the root
+    CSRGraph.Builder tree = createRandomSpanningTree(numVertices, parents, random);
+
+    // tree edges by their lower vertex, sorted, so that the samplers can skip them
+    final int[] treeOffsets = new int[numVertices + 1];
+    final int[] treeTargets = new int[numVertices - 1];
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      if(parents[vertex] != -1)
+        treeOffsets[Math.min(vertex, parents[vertex]) + 1]++;
+    }
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      treeOffsets[vertex + 1] += treeOffsets[vertex];
+    }
+    int[] next = Arrays.copyOf(treeOffsets, numVertices);
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      if(parents[vertex] != -1)
+        treeTargets[next[Math.min(vertex, parents[vertex])]++] = Math.max(vertex, parents[vertex]);
+    }
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      Arrays.sort(treeTargets, treeOffsets[vertex], treeOffsets[vertex + 1]);
+    }
+
+    long numPairs = (long) numVertices * (numVertices - 1) / 2;
+    long numCandidates = numPairs - (numVertices - 1); // pairs that are not tree edges
+    long numExtraEdges = Math.min(Math.max((long) (density * numPairs) - (numVertices - 1), 0), numCandidates);
+    if(numExtraEdges + numVertices - 1 > Integer.MAX_VALUE / 2)
+      throw new IllegalArgumentException("Error: too many edges for a CSR graph: " + (numExtraEdges + numVertices - 1));
+
+    // row u holds the pairs (u, v) with v > u; tasks get row ranges with about the same number of pairs
+    final int numTasks = (int) Math.max(1, Math.min(MAX_TASKS, numPairs / MIN_PAIRS_PER_TASK));
+    final int[] firstRows = new int[numTasks + 1];
+    long pairsSoFar = 0;
+    int task = 1;
+    for(int row = 0; row < numVertices && task < numTasks; row++){
+      pairsSoFar += numVertices - 1 - row;
+      while(task < numTasks && pairsSoFar >= numPairs / numTasks * task){
+        firstRows[task++] = row + 1;
       }
     }
+    while(task <= numTasks){
+      firstRows[task++] = numVertices;
+    }
+
+    // the edges of range i are those numbered from floor(k * c_i / N) on, where c_i counts the candidates before range i
+    final long[] rangeCandidates = new long[numTasks];
+    final long[] rangeEdges = new long[numTasks];
+    BigInteger extraEdges = BigInteger.valueOf(numExtraEdges);
+    BigInteger allCandidates = BigInteger.valueOf(Math.max(numCandidates, 1));
+    long candidatesSoFar = 0;
+    long edgesSoFar = 0;
+    for(int i = 0; i < numTasks; i++){
+      long rowPairs = (long) (firstRows[i + 1] - firstRows[i]) * (2L * numVertices - firstRows[i] - firstRows[i + 1] - 1) / 2;
+      rangeCandidates[i] = rowPairs - (treeOffsets[firstRows[i + 1]] - treeOffsets[firstRows[i]]);
+      candidatesSoFar += rangeCandidates[i];
+      long edgesUpTo = extraEdges.multiply(BigInteger.valueOf(candidatesSoFar)).divide(allCandidates).longValue();
+      rangeEdges[i] = edgesUpTo - edgesSoFar;
+      edgesSoFar = edgesUpTo;
+    }
+
+    final SplittableRandom[] randoms = new SplittableRandom[numTasks];
+    for(int i = 0; i < numTasks; i++){
+      randoms[i] = random.split();
+    }
+    final CSRGraph.Builder[] builders = new CSRGraph.Builder[numTasks];
+    ParallelLoop.forRange(pool, 0, numTasks, 1, (from, to) -> {
+      for(int i = from; i < to; i++){
+        builders[i] = addRandomEdges(numVertices, firstRows[i], firstRows[i + 1], rangeCandidates[i], (int) rangeEdges[i], treeOffsets, treeTargets,
+            randoms[i]);
+      }
+    });
+
+    List<CSRGraph.Builder> allBuilders = new ArrayList<CSRGraph.Builder>(numTasks + 1);
+    allBuilders.add(tree);
+    for(CSRGraph.Builder builder: builders){
+      allBuilders.add(builder);
+    }
+    return CSRGraph.Builder.build(allBuilders);
   }
-  
+
   /**
-   * <p>
-   * Use a random walk approach to create a random connected undirected graph.
-   * The random walk algorithm is described in <a
-   * href="http://stackoverflow.com/a/14618505">this</a> Stackoverflow post.
-   * </p>
-   * <p>
-   * In short, the algorithm works by picking a node at random and then
-   * initiating a random walk until all the vertices in the graph have been
-   * covered. Since the number of edges when all the nodes have been covered may
-   * be more or less than the desired number of edges (numVertices *
-   * (numVertices - 1)/2), we may have to <ul><li>add more edges, or</li> <li>to prune existing
-   * ones.</li></ul> <p>The first case is trivial.</p> <p>Pruning edges requires more care since
-   * there is a chance that we might prune all incoming edges to a node, leaving
-   * it isolated (and destroying the connectedness of the graph). To prevent
-   * this from happening, we record the first incident edge to every node (i.e,
-   * the edge that brings us to that edge the very first time). When pruning
-   * nodes, all we need to do is to make sure that we don't delete the first
-   * incident edge. This ensures that there is at least one edge that can bring
-   * us to that node, preserving the connectedness of the graph.</p>
-   * </p>
-   * 
-   * @param numVertices
-   *          number of vertices in graph
-   * @param density
-   *          edge density of graph
-   * @return the Graph object representing the created graph
+   * Joins every vertex, taken in a random order, to a random vertex that came
+   * before it
    */
-  private static Graph uniformSpanningTreeApproach(int numVertices, double density){
-    Graph graph = new Graph(numVertices, density);
-    HashSet<Integer> visitedNodes = new HashSet<Integer>();
-    
-    int[] firstIncidentEdges = createIncidentEdgeArray(numVertices);
-    int startNode = (int) (Math.random() * numVertices);
-    int nextNode = startNode;
-    int numEdgesAdded = 0;
-    visitedNodes.add(startNode);
-    firstIncidentEdges[startNode] = startNode;
-    
-    while(visitedNodes.size() < numVertices){
-      while((nextNode = (int) (Math.random() * numVertices)) == startNode); // no self-connections!
-      if(!graph.getAdjList().get(startNode).contains(new AdjListNode(nextNode, null))){
-        int cost = ((int)(Math.random() * MAX_EDGE_COST))+1;
-        graph.getAdjList().get(startNode).add(new AdjListNode(nextNode, new Edge(startNode, nextNode, cost, false))); //undirected graph; symmetrical connections
-        graph.getAdjList().get(nextNode).add(new AdjListNode(startNode, new Edge(nextNode, startNode, cost, false))); //undirected graph; symmetrical connections
-        visitedNodes.add(nextNode);
-        numEdgesAdded = numEdgesAdded + 2;
-        if(firstIncidentEdges[nextNode] == SENTINEL){
-          firstIncidentEdges[nextNode] = startNode;
-        }
-        startNode = nextNode;
-      }
+  private static CSRGraph.Builder createRandomSpanningTree(int numVertices, int[] parents, SplittableRandom random){
+    int[] order = new int[numVertices];
+    for(int i = 0; i < numVertices; i++){
+      order[i] = i;
     }
-    
-    if(numEdgesAdded < graph.getNumEdges()){ // we don't have enough edges, add more randomly, creating cycles
-      while(numEdgesAdded < graph.getNumEdges()){
-        startNode = (int) (Math.random() * numVertices);
-        while((nextNode = (int) (Math.random() * numVertices)) == startNode); // no self-connections!
-        if(!graph.getAdjList().get(startNode).contains(new AdjListNode(nextNode, null))){
-          int cost = ((int)(Math.random() * 1000))+1;
-          graph.getAdjList().get(startNode).add(new AdjListNode(nextNode, new Edge(startNode, nextNode, cost, false))); //undirected graph; symmetrical connections
-          graph.getAdjList().get(nextNode).add(new AdjListNode(startNode, new Edge(nextNode, startNode, cost, false))); //undirected graph; symmetrical connections
-          numEdgesAdded = numEdgesAdded + 2;
+    for(int i = numVertices - 1; i > 0; i--){ // Fisher-Yates shuffle
+      int j = random.nextInt(i + 1);
+      int temp = order[i];
+      order[i] = order[j];
+      order[j] = temp;
+    }
+
+    CSRGraph.Builder tree = new CSRGraph.Builder(numVertices, numVertices - 1);
+    parents[order[0]] = -1;
+    for(int i = 1; i < numVertices; i++){
+      int parent = order[random.nextInt(i)];
+      parents[order[i]] = parent;
+      tree.addEdge(order[i], parent, random.nextInt(MAX_EDGE_COST) + 1);
+    }
+    return tree;
+  }
+
+  /**
+   * Adds exactly numEdges distinct edges among the pairs (u, v) with u in
+   * [firstRow, endRow), v > u, that are not tree edges. The candidate pairs
+   * are numbered in row order and a sorted sample of their numbers is drawn.
+   * Above half of the candidates, the pairs to leave out are sampled instead
+   * (complement sampling), so the sample never holds more than half of them
+   * and the work stays proportional to the rows plus the edges added.
+   */
+  private static CSRGraph.Builder addRandomEdges(int numVertices, int firstRow, int endRow, long numCandidates, int numEdges, int[] treeOffsets,
+      int[] treeTargets, SplittableRandom random){
+    CSRGraph.Builder builder = new CSRGraph.Builder(numVertices, numEdges);
+    if(numEdges == 0)
+      return builder;
+
+    boolean complement = numEdges > numCandidates / 2;
+    long[] sample = sampleSorted(numCandidates, (int) (complement ? numCandidates - numEdges : numEdges), random);
+    int nextSampled = 0;
+    long rowStart = 0; // number of the first candidate of row u
+    for(int u = firstRow; u < endRow && (complement || nextSampled < sample.length); u++){
+      int treeFrom = treeOffsets[u];
+      int treeTo = treeOffsets[u + 1];
+      if(complement){
+        long candidate = rowStart;
+        int tree = treeFrom;
+        for(int v = u + 1; v < numVertices; v++){
+          if(tree < treeTo && treeTargets[tree] == v){
+            tree++;
+            continue;
+          }
+          if(nextSampled < sample.length && sample[nextSampled] == candidate)
+            nextSampled++;
+          else
+            builder.addEdge(u, v, random.nextInt(MAX_EDGE_COST) + 1);
+          candidate++;
         }
-      }
-    } else if (numEdgesAdded > graph.getNumEdges()){ // we have too many edges, prune some. take care not to maroon any existing vertex
-      while(numEdgesAdded > graph.getNumEdges()){
-        startNode = (int) (Math.random() * numVertices);
-        while((nextNode = (int) (Math.random() * numVertices)) == startNode); // no self-connections!
-        if(graph.getAdjList().get(startNode).contains(new AdjListNode(nextNode, null))){
-          if(firstIncidentEdges[nextNode] != startNode){ // remove the edge only if it's not the first incident edge
-            graph.getAdjList().get(startNode).remove(new AdjListNode(nextNode, null));
-            graph.getAdjList().get(nextNode).remove(new AdjListNode(startNode, null));
-            numEdgesAdded = numEdgesAdded - 2;
+      } else{
+        long rowEnd = rowStart + (numVertices - 1 - u) - (treeTo - treeFrom);
+        int tree = treeFrom;
+        while(nextSampled < sample.length && sample[nextSampled] < rowEnd){
+          // the candidate's vertex, moved past every tree edge at or before it
+          long v = u + 1 + (sample[nextSampled] - rowStart) + (tree - treeFrom);
+          while(tree < treeTo && treeTargets[tree] <= v){
+            tree++;
+            v++;
           }
+          builder.addEdge(u, (int) v, random.nextInt(MAX_EDGE_COST) + 1);
+          nextSampled++;
         }
       }
+      rowStart += (numVertices - 1 - u) - (treeTo - treeFrom);
     }
-    
-    return graph;
+    return builder;
   }
 
-  private static int[] createIncidentEdgeArray(int numVertices){
-    int[] firstIncidentEdges = new int[numVertices]; // record the first incident edge on a newly discovered vertex. comes in handy if we need to prune edges
-                                                     // because it helps us avoid marooning vertices
-    for(int i=0; i<numVertices; i++){
-      firstIncidentEdges[i] = SENTINEL; // sentinel value
+  /**
+   * Draws count distinct numbers from [0, bound), in increasing order, with
+   * every set of count numbers equally likely. Dense samples are drawn with
+   * Floyd's algorithm into a bitset over [0, bound); sparse ones are drawn
+   * with replacement, sorted and deduplicated, and the duplicates are drawn
+   * again until there are none, which takes few rounds.
+   */
+  private static long[] sampleSorted(long bound, int count, SplittableRandom random){
+    long[] sample = new long[count];
+    if(count >= bound / DENSE_SAMPLE_RATIO){
+      long[] chosen = new long[(int) ((bound + 63) >>> 6)];
+      for(long j = bound - count; j < bound; j++){
+        long t = random.nextLong(j + 1);
+        if((chosen[(int) (t >>> 6)] & (1L << t)) != 0)
+          t = j;
+        chosen[(int) (t >>> 6)] |= 1L << t;
+      }
+      int size = 0;
+      for(int word = 0; word < chosen.length; word++){
+        for(long bits = chosen[word]; bits != 0; bits &= bits - 1){
+          sample[size++] = ((long) word << 6) + Long.numberOfTrailingZeros(bits);
+        }
+      }
+      return sample;
+    }
+
+    int distinct = 0;
+    while(distinct < count){
+      for(int i = distinct; i < count; i++){
+        sample[i] = random.nextLong(bound);
+      }
+      Arrays.sort(sample);
+      distinct = 0;
+      for(int i = 0; i < count; i++){
+        if(distinct == 0 || sample[i] != sample[distinct - 1])
+          sample[distinct++] = sample[i];
+      }
     }
-    
-    return firstIncidentEdges;
+    return sample;
   }
 
   /**
@@ -1,22 +1,181 @@
 package ads.neeraj2608.mst.common;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import ads.neeraj2608.types.common.AdjListNode;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
 import ads.neeraj2608.types.common.Edge;
 import ads.neeraj2608.types.common.Graph;
 
+/**
+ * Runs an MST generator and measures the run. Every call returns its own
+ * {@link MSTRunStats}, so this class is safe to use from several threads.
+ * <p>
+ * The generators only read the graph and keep all the state of a run to
+ * themselves, so several generators can also be run at the same time over one
+ * loaded graph, each on a thread of its own. The wall time, CPU time and
+ * allocated bytes of such runs are measured per thread; garbage collections
+ * are counted for the whole JVM, so they include those of the other runs.
+ * </p>
+ */
 public class MSTGenerator{
-  private static long runtime;
-  
-  public static List<Edge> generateMST(MSTGeneratorInterface mstGenerator, Graph graph){
-    long start = System.currentTimeMillis();
+
+  /**
+   * Runs a generator over an adjacency list graph. Only the generator is
+   * timed; its edge list is turned into an {@link MSTResult} afterwards.
+   */
+  public static MSTRunStats generateMST(MSTGeneratorInterface mstGenerator, Graph graph){
+    long numArcs = 0;
+    for(List<AdjListNode> adjacentNodes: graph.getAdjList()){
+      numArcs += adjacentNodes.size();
+    }
+
+    Counters before = Counters.read();
+    long start = System.nanoTime();
     List<Edge> generatedMST = mstGenerator.generateMST(graph);
-    long end = System.currentTimeMillis();
-    runtime = end - start;
-    return generatedMST;
+    long end = System.nanoTime();
+    Counters after = Counters.read();
+
+    return createStats(MSTResult.fromEdges(graph.getNumVertices(), generatedMST), numArcs / 2, end - start, before, after);
+  }
+
+  public static MSTRunStats generateMST(MSTGeneratorInterface mstGenerator, CSRGraph graph){
+    return generateMST(mstGenerator, (CSRAdjacency) graph);
+  }
+
+  /**
+   * Runs a generator over a graph in CSR form, through
+   * {@link MSTGeneratorInterface#generateMSTResult(CSRAdjacency)}
+   */
+  public static MSTRunStats generateMST(MSTGeneratorInterface mstGenerator, CSRAdjacency graph){
+    Counters before = Counters.read();
+    long start = System.nanoTime();
+    MSTResult result = mstGenerator.generateMSTResult(graph);
+    long end = System.nanoTime();
+    Counters after = Counters.read();
+
+    return createStats(result, graph.getNumArcs() / 2, end - start, before, after);
   }
 
-  public static long getRuntime(){
-    return runtime;
+  /**
+   * Runs every generator on a thread of its own, all at the same time, over a
+   * read-only view of the graph
+   *
+   * @return the stats of every run, in the order of the generators
+   */
+  public static MSTRunStats[] generateMSTsConcurrently(MSTGeneratorInterface[] mstGenerators, Graph graph){
+    final Graph readOnlyGraph = graph.asReadOnly();
+    List<Callable<MSTRunStats>> runs = new ArrayList<Callable<MSTRunStats>>(mstGenerators.length);
+    for(final MSTGeneratorInterface mstGenerator: mstGenerators){
+      runs.add(() -> generateMST(mstGenerator, readOnlyGraph));
+    }
+    return runConcurrently(runs);
   }
+
+  /**
+   * Runs every generator on a thread of its own, all at the same time, over
+   * one graph in CSR form, which is never written to
+   *
+   * @return the stats of every run, in the order of the generators
+   */
+  public static MSTRunStats[] generateMSTsConcurrently(MSTGeneratorInterface[] mstGenerators, final CSRAdjacency graph){
+    List<Callable<MSTRunStats>> runs = new ArrayList<Callable<MSTRunStats>>(mstGenerators.length);
+    for(final MSTGeneratorInterface mstGenerator: mstGenerators){
+      runs.add(() -> generateMST(mstGenerator, graph));
+    }
+    return runConcurrently(runs);
+  }
+
+  /**
+   * Runs every run on a thread of its own and waits for all of them. If a run
+   * fails, its exception is rethrown once all the runs are done.
+   */
+  private static MSTRunStats[] runConcurrently(List<Callable<MSTRunStats>> runs){
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(runs.size(), 1));
+    try{
+      List<Future<MSTRunStats>> results = executor.invokeAll(runs);
+      MSTRunStats[] stats = new MSTRunStats[results.size()];
+      for(int i = 0; i < stats.length; i++){
+        stats[i] = results.get(i).get();
+      }
+      return stats;
+    } catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Error: interrupted while waiting for the MST runs", e);
+    } catch(ExecutionException e){
+      if(e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      if(e.getCause() instanceof Error)
+        throw (Error) e.getCause();
+      throw new IllegalStateException(e.getCause());
+    } finally{
+      executor.shutdown();
+    }
+  }
+
+  private static MSTRunStats createStats(MSTResult result, long numEdges, long wallTime, Counters before, Counters after){
+    return new MSTRunStats(result, numEdges, wallTime,
+        difference(before.cpuTime, after.cpuTime),
+        difference(before.allocatedBytes, after.allocatedBytes),
+        difference(before.gcCount, after.gcCount),
+        difference(before.gcTime, after.gcTime));
+  }
+
+  private static long difference(long before, long after){
+    if(before < 0 || after < 0) // not supported
+      return -1;
+    return after - before;
+  }
+
+  /**
+   * Snapshot of the thread and garbage collector counters. Counters the JVM
+   * does not support are -1.
+   */
+  private static class Counters{
+
+    // looked up once, so that the first run does not pay for loading the management classes
+    private static final ThreadMXBean                 THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    private static final List<GarbageCollectorMXBean> GC_BEANS    = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private long cpuTime        = -1;
+
+    private long allocatedBytes = -1;
+
+    private long gcCount        = -1;
+
+    private long gcTime         = -1;
+
+    private static Counters read(){
+      Counters counters = new Counters();
+
+      if(THREAD_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_BEAN.isThreadCpuTimeEnabled())
+        counters.cpuTime = THREAD_BEAN.getCurrentThreadCpuTime();
+      if(THREAD_BEAN instanceof com.sun.management.ThreadMXBean){
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+        if(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled())
+          counters.allocatedBytes = allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+
+      for(GarbageCollectorMXBean gcBean: GC_BEANS){
+        if(gcBean.getCollectionCount() < 0) // this collector does not report counts
+          continue;
+        counters.gcCount = Math.max(counters.gcCount, 0) + gcBean.getCollectionCount();
+        counters.gcTime = Math.max(counters.gcTime, 0) + Math.max(gcBean.getCollectionTime(), 0);
+      }
+
+      return counters;
+    }
+  }
+
 }
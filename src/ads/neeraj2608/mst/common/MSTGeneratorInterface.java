@@ -2,6 +2,8 @@ package ads.neeraj2608.mst.common;
 
 import java.util.List;
 
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
 import ads.neeraj2608.types.common.Edge;
 import ads.neeraj2608.types.common.Graph;
 
@@ -13,4 +15,37 @@ public interface MSTGeneratorInterface{
    * @return the MST for the graph
    */
   public List<Edge> generateMST(Graph graph);
+
+  /**
+   * Creates the minimum spanning tree (MST) for a graph stored in compressed
+   * sparse row form
+   * 
+   * @param graph graph of which to build the MST
+   * @return the MST for the graph
+   */
+  public List<Edge> generateMST(CSRGraph graph);
+
+  /**
+   * Creates the minimum spanning tree (MST) for any graph in compressed sparse
+   * row form, e.g. one memory-mapped from a binary graph file. Implementations
+   * hand {@link CSRGraph}s to {@link #generateMST(CSRGraph)}.
+   * 
+   * @param graph graph of which to build the MST
+   * @return the MST for the graph
+   */
+  public List<Edge> generateMST(CSRAdjacency graph);
+
+  /**
+   * Creates the minimum spanning tree (MST) for any graph in compressed sparse
+   * row form as an {@link MSTResult}, without an Edge object per tree edge.
+   * By default the edge list is rooted with {@link MSTResult#fromEdges(int,
+   * List)}; generators that find a parent for every vertex anyway fill the
+   * result directly.
+   * 
+   * @param graph graph of which to build the MST
+   * @return the MST for the graph
+   */
+  public default MSTResult generateMSTResult(CSRAdjacency graph){
+    return MSTResult.fromEdges(graph.getNumVertices(), generateMST(graph));
+  }
 }
@@ -0,0 +1,238 @@
+package ads.neeraj2608.mst.common;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.EdgeConsumer;
+
+/**
+ * Minimum spanning tree (or forest) stored in two primitive arrays: every
+ * vertex has the vertex it hangs off in the tree and the cost of that edge.
+ * The root of every tree has no parent. A tree over n vertices takes 8n bytes
+ * and no objects per edge, and its edges can be visited or written out without
+ * creating any.
+ */
+public class MSTResult{
+
+  public static final int NO_PARENT         = -1;
+
+  private static final int WRITE_BUFFER_SIZE = 1 << 13;
+
+  private static final int MAX_LINE_LENGTH   = 3 * 12; // three ints of up to 11 chars, each followed by a tab or line end
+
+  private int[]           parents;
+
+  private int[]           weights;
+
+  private int             numEdges;
+
+  private long            totalCost;
+
+  /**
+   * Wraps the arrays a generator filled; they are not copied. The weight of a
+   * root is set to 0.
+   *
+   * @param parents
+   *          parent of every vertex, or NO_PARENT for the root of a tree
+   * @param weights
+   *          cost of the edge from every vertex to its parent
+   */
+  public MSTResult(int[] parents, int[] weights){
+    if(parents.length != weights.length)
+      throw new IllegalArgumentException("Error: " + parents.length + " parents but " + weights.length + " weights");
+    this.parents = parents;
+    this.weights = weights;
+    for(int vertex = 0; vertex < parents.length; vertex++){
+      if(parents[vertex] == NO_PARENT){
+        weights[vertex] = 0;
+      } else{
+        numEdges++;
+        totalCost += weights[vertex];
+      }
+    }
+  }
+
+  /**
+   * Roots the trees of a forest given as a list of edges. Every tree is
+   * rooted at its lowest vertex, and the edges are walked breadth first from
+   * there, using only int arrays.
+   *
+   * @param numVertices
+   *          number of vertices in the graph
+   * @param edges
+   *          edges of the forest
+   * @return the rooted forest
+   * @throws IllegalArgumentException
+   *           if the edges contain a cycle
+   */
+  public static MSTResult fromEdges(int numVertices, List<Edge> edges){
+    if(edges.size() >= Math.max(numVertices, 1))
+      throw new IllegalArgumentException("Error: " + edges.size() + " edges cannot be a forest over " + numVertices + " vertices");
+
+    // the tree edges in CSR form: arc i of vertex v goes to targets[i] with costs[i]
+    int[] offsets = new int[numVertices + 1];
+    for(Edge edge: edges){
+      offsets[edge.getStart() + 1]++;
+      offsets[edge.getFinish() + 1]++;
+    }
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      offsets[vertex + 1] += offsets[vertex];
+    }
+    int[] targets = new int[2 * edges.size()];
+    int[] costs = new int[2 * edges.size()];
+    int[] next = Arrays.copyOf(offsets, numVertices);
+    for(Edge edge: edges){
+      int arc = next[edge.getStart()]++;
+      targets[arc] = edge.getFinish();
+      costs[arc] = edge.getCost();
+      arc = next[edge.getFinish()]++;
+      targets[arc] = edge.getStart();
+      costs[arc] = edge.getCost();
+    }
+
+    int[] parents = new int[numVertices];
+    int[] weights = new int[numVertices];
+    boolean[] visited = new boolean[numVertices];
+    int[] queue = next; // every vertex is queued once, so the scratch array is long enough
+    for(int root = 0; root < numVertices; root++){
+      if(visited[root])
+        continue;
+      visited[root] = true;
+      parents[root] = NO_PARENT;
+      int head = 0;
+      int tail = 0;
+      queue[tail++] = root;
+      while(head < tail){
+        int vertex = queue[head++];
+        for(int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++){
+          int target = targets[arc];
+          if(!visited[target]){
+            visited[target] = true;
+            parents[target] = vertex;
+            weights[target] = costs[arc];
+            queue[tail++] = target;
+          }
+        }
+      }
+    }
+
+    MSTResult result = new MSTResult(parents, weights);
+    if(result.numEdges != edges.size())
+      throw new IllegalArgumentException("Error: the edges contain a cycle");
+    return result;
+  }
+
+  public int getNumVertices(){
+    return parents.length;
+  }
+
+  /**
+   * @return the number of edges, i.e. the number of vertices minus the number
+   *         of trees
+   */
+  public int getNumEdges(){
+    return numEdges;
+  }
+
+  public long getTotalCost(){
+    return totalCost;
+  }
+
+  /**
+   * @return the parent of the vertex, or NO_PARENT if it is the root of a tree
+   */
+  public int getParent(int vertex){
+    return parents[vertex];
+  }
+
+  /**
+   * @return the cost of the edge from the vertex to its parent, or 0 if it is
+   *         the root of a tree
+   */
+  public int getWeight(int vertex){
+    return weights[vertex];
+  }
+
+  /**
+   * Hands every edge to the consumer as (parent, vertex, cost), in order of
+   * the vertex
+   *
+   * @throws IOException
+   *           if the consumer fails
+   */
+  public void forEachEdge(EdgeConsumer consumer) throws IOException{
+    for(int vertex = 0; vertex < parents.length; vertex++){
+      if(parents[vertex] != NO_PARENT)
+        consumer.addEdge(parents[vertex], vertex, weights[vertex]);
+    }
+  }
+
+  /**
+   * Writes every edge as a "start\tfinish\tcost" line, in order of the vertex.
+   * The digits are written into one reusable char buffer, which is handed to
+   * the writer whenever it fills up, so no strings are created per edge. The
+   * writer is neither flushed nor closed.
+   *
+   * @throws IOException
+   *           if the writer fails
+   */
+  public void write(Writer out) throws IOException{
+    char[] buffer = new char[WRITE_BUFFER_SIZE];
+    int length = 0;
+    for(int vertex = 0; vertex < parents.length; vertex++){
+      if(parents[vertex] != NO_PARENT){
+        if(length > buffer.length - MAX_LINE_LENGTH){
+          out.write(buffer, 0, length);
+          length = 0;
+        }
+        length = appendInt(buffer, length, parents[vertex]);
+        buffer[length++] = '\t';
+        length = appendInt(buffer, length, vertex);
+        buffer[length++] = '\t';
+        length = appendInt(buffer, length, weights[vertex]);
+        buffer[length++] = '\n';
+      }
+    }
+    out.write(buffer, 0, length);
+  }
+
+  /**
+   * Writes the decimal digits of value into buffer at position
+   *
+   * @return the position just past the last digit
+   */
+  private static int appendInt(char[] buffer, int position, int value){
+    long remaining = value; // a long, so that Integer.MIN_VALUE can be negated
+    if(remaining < 0){
+      buffer[position++] = '-';
+      remaining = -remaining;
+    }
+    int end = position;
+    for(long rest = remaining; rest != 0 || end == position; rest /= 10){
+      end++;
+    }
+    for(int i = end - 1; i >= position; i--){
+      buffer[i] = (char) ('0' + remaining % 10);
+      remaining /= 10;
+    }
+    return end;
+  }
+
+  /**
+   * @return the edges as objects, in order of the vertex, for code that works
+   *         on edge lists
+   */
+  public List<Edge> toEdgeList(){
+    List<Edge> edges = new ArrayList<Edge>(numEdges);
+    for(int vertex = 0; vertex < parents.length; vertex++){
+      if(parents[vertex] != NO_PARENT)
+        edges.add(new Edge(parents[vertex], vertex, weights[vertex], false));
+    }
+    return edges;
+  }
+
+}
@@ -0,0 +1,93 @@
+package ads.neeraj2608.mst.common;
+
+import java.util.List;
+
+import ads.neeraj2608.types.common.Edge;
+
+/**
+ * Statistics of a single MST generator run, as measured by
+ * {@link MSTGenerator}. Every run gets its own object, so runs on different
+ * threads do not interfere with each other.
+ * <ul>
+ * <li><b>wallTime</b> elapsed time of the run in nanoseconds
+ * <li><b>cpuTime</b> CPU time used by the calling thread in nanoseconds
+ * <li><b>allocatedBytes</b> bytes allocated by the calling thread
+ * <li><b>gcCount</b>, <b>gcTime</b> garbage collections during the run, and
+ * the time they took in milliseconds
+ * </ul>
+ * CPU time and allocation only cover the calling thread; work that a generator
+ * hands to other threads (e.g. the parallel Boruvka scheme) is not included.
+ * Garbage collection is counted for the whole JVM, so it includes collections
+ * caused by anything else running at the same time. Metrics that the JVM does
+ * not support are reported as -1.
+ */
+public class MSTRunStats{
+
+  private MSTResult  result;
+
+  private long       numEdges;
+
+  private long       wallTime;
+
+  private long       cpuTime;
+
+  private long       allocatedBytes;
+
+  private long       gcCount;
+
+  private long       gcTime;
+
+  public MSTRunStats(MSTResult result, long numEdges, long wallTime, long cpuTime, long allocatedBytes, long gcCount, long gcTime){
+    this.result = result;
+    this.numEdges = numEdges;
+    this.wallTime = wallTime;
+    this.cpuTime = cpuTime;
+    this.allocatedBytes = allocatedBytes;
+    this.gcCount = gcCount;
+    this.gcTime = gcTime;
+  }
+
+  public MSTResult getResult(){
+    return result;
+  }
+
+  /**
+   * @return the MST as a list of edges; the edges are created by every call
+   */
+  public List<Edge> getGeneratedMST(){
+    return result.toEdgeList();
+  }
+
+  public int getNumVertices(){
+    return result.getNumVertices();
+  }
+
+  public long getNumEdges(){
+    return numEdges;
+  }
+
+  public long getMSTCost(){
+    return result.getTotalCost();
+  }
+
+  public long getWallTime(){
+    return wallTime;
+  }
+
+  public long getCpuTime(){
+    return cpuTime;
+  }
+
+  public long getAllocatedBytes(){
+    return allocatedBytes;
+  }
+
+  public long getGcCount(){
+    return gcCount;
+  }
+
+  public long getGcTime(){
+    return gcTime;
+  }
+
+}
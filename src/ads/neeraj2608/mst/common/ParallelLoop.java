@@ -0,0 +1,63 @@
+package ads.neeraj2608.mst.common;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join task that runs a loop body over the index range [from, to). The
+ * range is halved until the pieces are no longer than the grain size, and the
+ * pieces are run in parallel on the pool.
+ */
+public class ParallelLoop extends RecursiveAction{
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Body of a parallel loop. Called once per piece of the range, possibly from
+   * several threads at the same time.
+   */
+  public interface Body{
+    public void run(int from, int to);
+  }
+
+  private int  from;
+
+  private int  to;
+
+  private int  grain;
+
+  private Body body;
+
+  private ParallelLoop(int from, int to, int grain, Body body){
+    this.from = from;
+    this.to = to;
+    this.grain = grain;
+    this.body = body;
+  }
+
+  /**
+   * Runs the body over [from, to) on the pool and waits for it to finish.
+   * The grain size is chosen so that every worker gets several pieces.
+   */
+  public static void forRange(ForkJoinPool pool, int from, int to, Body body){
+    int grain = Math.max(1024, (to - from) / (pool.getParallelism() * 8));
+    forRange(pool, from, to, grain, body);
+  }
+
+  public static void forRange(ForkJoinPool pool, int from, int to, int grain, Body body){
+    if(to <= from)
+      return;
+    pool.invoke(new ParallelLoop(from, to, Math.max(grain, 1), body));
+  }
+
+  @Override
+  protected void compute(){
+    if(to - from <= grain){
+      body.run(from, to);
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    invokeAll(new ParallelLoop(from, middle, grain, body), new ParallelLoop(middle, to, grain, body));
+  }
+
+}
@@ -0,0 +1,309 @@
+package ads.neeraj2608.mst.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * Class that generates the minimum spanning tree using Prim's algorithm on top
+ * of any {@link IndexedMinPriorityQueue}. Subclasses only decide which queue
+ * to use, so different heaps can be compared on identical Prim code.
+ * <p>
+ * By default every vertex is inserted into the queue up front with an
+ * infinite key. With insertion on discovery, a vertex is only inserted when it
+ * is first reached from the tree, so the queue holds just the frontier of the
+ * tree. Vertices are then inserted under slot numbers that are reused once
+ * their vertex is deleted, so a queue that grows on demand only grows to the
+ * size of the largest frontier.
+ * </p>
+ */
+public abstract class PrimMSTGenerator implements MSTGeneratorInterface{
+
+  private boolean insertOnDiscovery;
+
+  protected PrimMSTGenerator(){
+    this(false);
+  }
+
+  /**
+   * @param insertOnDiscovery
+   *          insert a vertex into the queue only when it is first reached from
+   *          the tree, instead of inserting all of them up front
+   */
+  protected PrimMSTGenerator(boolean insertOnDiscovery){
+    this.insertOnDiscovery = insertOnDiscovery;
+  }
+
+  public boolean insertsOnDiscovery(){
+    return insertOnDiscovery;
+  }
+
+  /**
+   * Creates the priority queue that Prim's algorithm runs on
+   *
+   * @param numVertices
+   *          number of vertices in the graph; vertex indices (or, with
+   *          insertion on discovery, slot numbers) are in [0, numVertices)
+   * @return an empty queue
+   */
+  protected abstract IndexedMinPriorityQueue createQueue(int numVertices);
+
+  /**
+   * Called at the end of every run with the (now empty) queue the run used,
+   * e.g. to report statistics the queue collected. Prim only calls decreaseKey
+   * when it lowers the key of a node in the queue; the arcs it skipped before
+   * asking the queue are counted here, so the statistics can include them.
+   * Does nothing by default.
+   *
+   * @param queue
+   *          the queue returned by {@link #createQueue(int)} for this run
+   * @param skippedNotInQueue
+   *          arcs skipped because their target was already in the tree
+   * @param skippedNotSmaller
+   *          arcs skipped because they did not lower their target's key
+   */
+  protected void queueDrained(IndexedMinPriorityQueue queue, long skippedNotInQueue, long skippedNotSmaller){
+  }
+
+  /*
+   * (non-Javadoc) The adjacency list is converted to CSR form first, as the
+   * Boruvka and spanning forest generators do, so that Prim's algorithm has a
+   * single loop per insertion mode, over CSRAdjacency.
+   *
+   * @see
+   * ads.neeraj2608.mst.common.MSTGeneratorInterface#generateMST(ads.neeraj2608
+   * .types.common.Graph)
+   */
+  @Override
+  public List<Edge> generateMST(Graph graph){
+    return generateMSTResult(CSRGraph.fromGraph(graph)).toEdgeList();
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRAdjacency graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  /*
+   * (non-Javadoc) Method that builds the MST using a priority queue and Prim's
+   * algorithm. The queue is initialized with the keys of all the nodes of the
+   * graph set to Integer.MAX_VALUE (\infinity), except for a randomly chosen
+   * start node, whose key is 0. At every step of the algorithm, we delete the
+   * minimum node from the queue and decrease the keys of all the vertices
+   * adjacent to it that are still in the queue to the weights of the edges
+   * going to those vertices, recording the deleted node as their parent, and
+   * the edge's cost, whenever a key is decreased. This continues until the
+   * queue is empty. When a node is deleted, its parent and cost are final: the
+   * edge to its parent is an MST edge. A node that is deleted without a parent
+   * cannot be reached from the nodes deleted before it; it is the root of the
+   * tree of a new component, so a disconnected graph gets its minimum spanning
+   * forest.
+   *
+   * @see
+   * ads.neeraj2608.mst.common.MSTGeneratorInterface#generateMSTResult(ads.
+   * neeraj2608.types.common.CSRAdjacency)
+   */
+  @Override
+  public MSTResult generateMSTResult(CSRAdjacency graph){
+    if(insertOnDiscovery)
+      return generateMSTOnDiscovery(graph);
+
+    int numVertices = graph.getNumVertices();
+    IndexedMinPriorityQueue queue = createQueue(numVertices);
+    int[] parents = createParents(numVertices);
+    int[] weights = new int[numVertices];
+
+    int startNodeIndex = graph.selectARandomNode();
+    insertAllNodes(queue, numVertices, startNodeIndex);
+
+    long skippedNotInQueue = 0;
+    long skippedNotSmaller = 0;
+    while(!queue.isEmpty()){
+      int newestMSTNode = queue.deleteMin();
+      long endArc = graph.getEndArc(newestMSTNode);
+      for(long arc = graph.getFirstArc(newestMSTNode); arc < endArc; arc++){
+        int nodeIndex = graph.getTarget(arc);
+        int cost = graph.getWeight(arc);
+        if(!queue.contains(nodeIndex)){
+          skippedNotInQueue++;
+        } else if(cost < queue.keyOf(nodeIndex)){
+          queue.decreaseKey(nodeIndex, cost);
+          parents[nodeIndex] = newestMSTNode;
+          weights[nodeIndex] = cost;
+        } else{
+          skippedNotSmaller++;
+        }
+      }
+    }
+
+    queueDrained(queue, skippedNotInQueue, skippedNotSmaller);
+    return new MSTResult(parents, weights);
+  }
+
+  /*
+   * (non-Javadoc) Prim's algorithm with insertion on discovery. The next node
+   * of the tree comes from the frontier: the node with the cheapest edge to the
+   * tree, or a new root once no edge leaves the tree. Every arc leaving the new
+   * node is then offered to the frontier, which inserts the target the first
+   * time it is reached and decreases its key after that.
+   */
+  private MSTResult generateMSTOnDiscovery(CSRAdjacency graph){
+    int numVertices = graph.getNumVertices();
+    IndexedMinPriorityQueue queue = createQueue(numVertices);
+    Frontier frontier = new Frontier(queue, numVertices, graph.selectARandomNode());
+
+    for(int newestMSTNode = frontier.next(); newestMSTNode != Frontier.NONE; newestMSTNode = frontier.next()){
+      long endArc = graph.getEndArc(newestMSTNode);
+      for(long arc = graph.getFirstArc(newestMSTNode); arc < endArc; arc++){
+        frontier.reach(graph.getTarget(arc), newestMSTNode, graph.getWeight(arc));
+      }
+    }
+
+    queueDrained(queue, frontier.skippedNotInQueue, frontier.skippedNotSmaller);
+    return frontier.toResult();
+  }
+
+  /**
+   * @return parent array with every entry set to MSTResult.NO_PARENT
+   */
+  private static int[] createParents(int numVertices){
+    int[] parents = new int[numVertices];
+    Arrays.fill(parents, MSTResult.NO_PARENT);
+    return parents;
+  }
+
+  private void insertAllNodes(IndexedMinPriorityQueue queue, int numVertices, int startNodeIndex){
+    for(int i = 0; i < numVertices; i++){
+      queue.insert(i, i == startNodeIndex ? 0 : Integer.MAX_VALUE);
+    }
+  }
+
+  /**
+   * The nodes reached from the tree but not in it yet, for insertion on
+   * discovery. Whether a node is in the tree is tracked here, apart from the
+   * queue, which never sees a node that has not been reached. Every node in
+   * the queue has a slot; a free slot is reused before a new one is taken, so
+   * slot numbers stay below the size of the largest frontier.
+   */
+  private static class Frontier{
+
+    private static final int        NONE              = -1;
+
+    private static final int        INITIAL_NUM_SLOTS = 16;
+
+    private IndexedMinPriorityQueue queue;
+
+    private boolean[]               inTree;
+
+    private int[]                   parents;
+
+    private int[]                   weights;          // cost of the cheapest edge to the tree found so far, i.e. the key
+
+    private int[]                   slots;            // slot of every node in the queue, NONE otherwise
+
+    private int[]                   slotNodes;        // node in every slot in use
+
+    private int[]                   freeSlots;
+
+    private int                     numFreeSlots;
+
+    private int                     numSlots;
+
+    private int                     startNode;
+
+    private int                     nextRoot;         // no node below this one is outside the tree without being reached
+
+    private long                    skippedNotInQueue;
+
+    private long                    skippedNotSmaller;
+
+    private Frontier(IndexedMinPriorityQueue queue, int numVertices, int startNode){
+      this.queue = queue;
+      this.startNode = startNode;
+      inTree = new boolean[numVertices];
+      parents = createParents(numVertices);
+      weights = new int[numVertices];
+      slots = new int[numVertices];
+      Arrays.fill(slots, NONE);
+      slotNodes = new int[Math.min(numVertices, INITIAL_NUM_SLOTS)];
+      freeSlots = new int[slotNodes.length];
+    }
+
+    /**
+     * Offers an edge from the tree to a node
+     */
+    private void reach(int node, int parent, int cost){
+      if(inTree[node]){
+        skippedNotInQueue++;
+        return;
+      }
+      int slot = slots[node];
+      if(slot == NONE){
+        slot = takeSlot();
+        slots[node] = slot;
+        slotNodes[slot] = node;
+        queue.insert(slot, cost);
+      } else if(cost < weights[node]){
+        queue.decreaseKey(slot, cost);
+      } else{
+        skippedNotSmaller++;
+        return;
+      }
+      parents[node] = parent;
+      weights[node] = cost;
+    }
+
+    /**
+     * Moves the node with the cheapest edge to the tree into the tree; if the
+     * frontier is empty, a node outside the tree becomes the root of a new
+     * tree
+     *
+     * @return the node, or NONE if all the nodes are in the tree
+     */
+    private int next(){
+      int node;
+      if(!queue.isEmpty()){
+        int slot = queue.deleteMin();
+        node = slotNodes[slot];
+        slots[node] = NONE;
+        freeSlots[numFreeSlots++] = slot;
+      } else if(startNode < inTree.length && !inTree[startNode]){
+        node = startNode;
+      } else{
+        while(nextRoot < inTree.length && inTree[nextRoot])
+          nextRoot++;
+        if(nextRoot == inTree.length)
+          return NONE;
+        node = nextRoot;
+      }
+      inTree[node] = true;
+      return node;
+    }
+
+    private int takeSlot(){
+      if(numFreeSlots > 0)
+        return freeSlots[--numFreeSlots];
+      if(numSlots == slotNodes.length){
+        int length = Math.min(inTree.length, slotNodes.length * 2);
+        slotNodes = Arrays.copyOf(slotNodes, length);
+        freeSlots = Arrays.copyOf(freeSlots, length);
+      }
+      return numSlots++;
+    }
+
+    private MSTResult toResult(){
+      return new MSTResult(parents, weights);
+    }
+  }
+
+}
@@ -0,0 +1,81 @@
+package ads.neeraj2608.mst.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.GraphComponents;
+
+/**
+ * Minimum spanning forest of a graph: one minimum spanning tree per connected
+ * component, numbered like the components of {@link GraphComponents}. Edges
+ * use the vertex numbers of the whole graph.
+ */
+public class SpanningForest{
+
+  private GraphComponents  components;
+
+  private List<List<Edge>> trees;       // edges of the tree of every component
+
+  private long[]           costs;       // total cost of the tree of every component
+
+  SpanningForest(GraphComponents components, List<List<Edge>> trees, long[] costs){
+    this.components = components;
+    this.trees = trees;
+    this.costs = costs;
+  }
+
+  public GraphComponents getComponents(){
+    return components;
+  }
+
+  public int getNumComponents(){
+    return trees.size();
+  }
+
+  /**
+   * @return the edges of the minimum spanning tree of a component
+   */
+  public List<Edge> getEdges(int component){
+    return trees.get(component);
+  }
+
+  /**
+   * @return the total cost of the minimum spanning tree of a component
+   */
+  public long getCost(int component){
+    return costs[component];
+  }
+
+  /**
+   * @return the edges of all the trees, component by component
+   */
+  public List<Edge> getEdges(){
+    List<Edge> edges = new ArrayList<Edge>(getNumEdges());
+    for(List<Edge> tree: trees){
+      edges.addAll(tree);
+    }
+    return edges;
+  }
+
+  /**
+   * @return the number of edges in the forest, i.e. the number of vertices
+   *         minus the number of components
+   */
+  public int getNumEdges(){
+    int numEdges = 0;
+    for(List<Edge> tree: trees){
+      numEdges += tree.size();
+    }
+    return numEdges;
+  }
+
+  public long getTotalCost(){
+    long totalCost = 0;
+    for(long cost: costs){
+      totalCost += cost;
+    }
+    return totalCost;
+  }
+
+}
@@ -0,0 +1,157 @@
+package ads.neeraj2608.mst.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.GraphComponents;
+
+/**
+ * Generates the minimum spanning forest of a graph that need not be connected.
+ * The components are found once with {@link GraphComponents}; then every
+ * component with more than one vertex is copied into a CSR graph of its own,
+ * with its vertices renumbered from 0, and the MST of every component is
+ * generated on a fork/join pool, so a graph with many large components keeps
+ * all cores busy even with a sequential MST generator.
+ * <p>
+ * The copies together take as much memory as the graph itself. A connected
+ * graph is handed to the MST generator as it is, without a copy.
+ * </p>
+ */
+public class SpanningForestGenerator{
+
+  private MSTGeneratorInterface mstGenerator;
+
+  private ForkJoinPool          pool;
+
+  /**
+   * @param mstGenerator
+   *          generates the tree of every component; it is called from several
+   *          threads at the same time
+   */
+  public SpanningForestGenerator(MSTGeneratorInterface mstGenerator){
+    this(mstGenerator, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param mstGenerator
+   *          generates the tree of every component; it is called from several
+   *          threads at the same time
+   * @param pool
+   *          fork/join pool to run the components on
+   */
+  public SpanningForestGenerator(MSTGeneratorInterface mstGenerator, ForkJoinPool pool){
+    this.mstGenerator = mstGenerator;
+    this.pool = pool;
+  }
+
+  /*
+   * (non-Javadoc) The adjacency list is converted to CSR form first; the
+   * components are copied out of the CSR arrays.
+   */
+  public SpanningForest generateForest(Graph graph){
+    return generateForest(CSRGraph.fromGraph(graph));
+  }
+
+  /**
+   * @return the minimum spanning forest of the graph
+   * @throws IllegalArgumentException
+   *           if a component has too many arcs for a {@link CSRGraph}
+   */
+  public SpanningForest generateForest(final CSRAdjacency graph){
+    final GraphComponents components = GraphComponents.of(graph);
+    final int numVertices = graph.getNumVertices();
+    final int numComponents = components.getNumComponents();
+
+    final List<List<Edge>> trees = new ArrayList<List<Edge>>(numComponents);
+    final long[] costs = new long[numComponents];
+    if(components.isConnected()){
+      List<Edge> tree = mstGenerator.generateMST(graph);
+      trees.add(tree);
+      costs[0] = totalCost(tree);
+      return new SpanningForest(components, trees, costs);
+    }
+
+    // counting sort of the vertices by component; firstVertices[c] is where
+    // the vertices of component c begin in vertices, and the position of a
+    // vertex within its component is its number in the component's graph
+    final int[] firstVertices = new int[numComponents + 1];
+    for(int c = 0; c < numComponents; c++){
+      firstVertices[c + 1] = firstVertices[c] + components.getSize(c);
+    }
+    final int[] vertices = new int[numVertices];
+    final int[] localVertices = new int[numVertices];
+    int[] next = Arrays.copyOf(firstVertices, numComponents);
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      int c = components.getComponent(vertex);
+      localVertices[vertex] = next[c] - firstVertices[c];
+      vertices[next[c]++] = vertex;
+    }
+
+    final Edge[][] localTrees = new Edge[numComponents][];
+    ParallelLoop.forRange(pool, 0, numComponents, 1, (from, to) -> {
+      for(int c = from; c < to; c++){
+        if(components.getSize(c) == 1){
+          localTrees[c] = new Edge[0];
+          continue;
+        }
+        CSRGraph component = copyComponent(graph, vertices, localVertices, firstVertices[c], firstVertices[c + 1]);
+        List<Edge> tree = mstGenerator.generateMST(component);
+        Edge[] globalTree = new Edge[tree.size()];
+        for(int i = 0; i < globalTree.length; i++){
+          Edge edge = tree.get(i);
+          globalTree[i] = new Edge(vertices[firstVertices[c] + edge.getStart()], vertices[firstVertices[c] + edge.getFinish()], edge.getCost(), false);
+        }
+        localTrees[c] = globalTree;
+      }
+    });
+
+    for(int c = 0; c < numComponents; c++){
+      List<Edge> tree = Arrays.asList(localTrees[c]);
+      trees.add(tree);
+      costs[c] = totalCost(tree);
+    }
+    return new SpanningForest(components, trees, costs);
+  }
+
+  /**
+   * Copies the vertices vertices[from, to) of one component, and the edges
+   * between them, into a graph of their own. Every undirected edge is added
+   * once, from its lower numbered end; self loops are left out.
+   */
+  private static CSRGraph copyComponent(CSRAdjacency graph, int[] vertices, int[] localVertices, int from, int to){
+    long numArcs = 0;
+    for(int i = from; i < to; i++){
+      numArcs += graph.getEndArc(vertices[i]) - graph.getFirstArc(vertices[i]);
+    }
+
+    if(numArcs > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Error: too many arcs for a CSR graph in a component: " + numArcs);
+
+    CSRGraph.Builder builder = new CSRGraph.Builder(to - from, (int) (numArcs / 2));
+    for(int i = from; i < to; i++){
+      int vertex = vertices[i];
+      long endArc = graph.getEndArc(vertex);
+      for(long arc = graph.getFirstArc(vertex); arc < endArc; arc++){
+        int target = graph.getTarget(arc);
+        if(target > vertex)
+          builder.addEdge(i - from, localVertices[target], graph.getWeight(arc));
+      }
+    }
+    return builder.build();
+  }
+
+  private static long totalCost(List<Edge> tree){
+    long totalCost = 0;
+    for(Edge edge: tree){
+      totalCost += edge.getCost();
+    }
+    return totalCost;
+  }
+
+}
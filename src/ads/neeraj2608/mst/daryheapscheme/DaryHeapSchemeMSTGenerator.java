@@ -0,0 +1,40 @@
+package ads.neeraj2608.mst.daryheapscheme;
+
+import ads.neeraj2608.mst.common.PrimMSTGenerator;
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+import ads.neeraj2608.types.daryheapscheme.DaryHeap;
+
+/**
+ * Class that generates the minimum spanning tree using an indexed d-ary heap
+ * based implementation of Prim's shortest path algorithm
+ */
+public class DaryHeapSchemeMSTGenerator extends PrimMSTGenerator{
+
+  public static final int DEFAULT_ARITY = 4;
+
+  private int             arity;
+
+  public DaryHeapSchemeMSTGenerator(){
+    this(DEFAULT_ARITY);
+  }
+
+  /**
+   * @param arity
+   *          number of children of every heap node (e.g. 2, 4 or 8)
+   */
+  public DaryHeapSchemeMSTGenerator(int arity){
+    if(arity < 2)
+      throw new IllegalArgumentException("Error: arity must be at least 2, got " + arity);
+    this.arity = arity;
+  }
+
+  @Override
+  protected IndexedMinPriorityQueue createQueue(int numVertices){
+    return new DaryHeap(arity, numVertices);
+  }
+
+  public int getArity(){
+    return arity;
+  }
+
+}
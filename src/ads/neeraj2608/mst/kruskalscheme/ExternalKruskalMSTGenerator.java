@@ -0,0 +1,361 @@
+package ads.neeraj2608.mst.kruskalscheme;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import ads.neeraj2608.types.common.EdgeConsumer;
+import ads.neeraj2608.types.common.TextGraphParser;
+import ads.neeraj2608.types.common.UnionFind;
+
+/**
+ * Class that generates the minimum spanning tree of a text graph file that is
+ * too large to be loaded, using Kruskal's algorithm with an external sort.
+ * Only two union-finds over the vertices and a buffer of edges are kept in
+ * memory, and all of them are sized to fit a memory budget.
+ * <ol>
+ * <li>The file is streamed into the edge buffer. Whenever the buffer is full,
+ * it is sorted by cost and reduced to its minimum spanning forest; an edge that
+ * is not in the forest of a subset of the edges is not in the MST of the whole
+ * graph either. If that frees less than half of the buffer, the sorted forest
+ * is spilled to a temporary file as a run and the buffer is emptied.
+ * <li>The runs are merged by cost and Kruskal's algorithm is run on the merged
+ * stream with an in-memory {@link UnionFind}. Every MST edge is handed to the
+ * output as soon as it is found, so the tree is never held in memory either.
+ * </ol>
+ * If nothing had to be spilled, the forest left in the buffer is the MST and no
+ * temporary files are written at all.
+ */
+public class ExternalKruskalMSTGenerator{
+
+  public static final long MIN_MEMORY_BUDGET    = 1 << 20;
+
+  private static final int IN_MEMORY_EDGE_SIZE  = 16;      // sort key (cost, index) plus both vertices
+  private static final int UNION_FIND_SIZE      = 5;       // bytes per vertex: parent and rank
+  private static final int VERTEX_SIZE          = 2 * UNION_FIND_SIZE + 8; // two union-finds and the forest of the buffer
+  private static final int MIN_RUN_CAPACITY     = 1 << 10;
+  private static final int WRITE_BUFFER_SIZE    = 1 << 16;
+  private static final int MIN_READ_BUFFER_SIZE = 1 << 12; // per run while merging
+  private static final int MAX_READ_BUFFER_SIZE = 1 << 16;
+
+  private long             memoryBudget;
+
+  private File             tempDirectory;
+
+  /**
+   * @param memoryBudget
+   *          bytes the edge buffer, union-finds and I/O buffers may use
+   */
+  public ExternalKruskalMSTGenerator(long memoryBudget){
+    this(memoryBudget, null);
+  }
+
+  /**
+   * @param memoryBudget
+   *          bytes the edge buffer, union-finds and I/O buffers may use
+   * @param tempDirectory
+   *          directory for the runs, or null for the default temporary
+   *          directory
+   */
+  public ExternalKruskalMSTGenerator(long memoryBudget, File tempDirectory){
+    if(memoryBudget < MIN_MEMORY_BUDGET)
+      throw new IllegalArgumentException("Error: memory budget must be at least " + MIN_MEMORY_BUDGET + " bytes, got " + memoryBudget);
+    this.memoryBudget = memoryBudget;
+    this.tempDirectory = tempDirectory;
+  }
+
+  /**
+   * Generates the MST (or the minimum spanning forest, if the graph is not
+   * connected) of a text graph file
+   *
+   * @param graphFile
+   *          text graph file, see {@link TextGraphParser}
+   * @param output
+   *          receives the MST edges in order of increasing cost
+   * @return summary of the run
+   * @throws ads.neeraj2608.types.common.GraphFormatException
+   *           if the file is malformed
+   * @throws IOException
+   *           if the file can't be read, a run can't be written, or the output
+   *           fails
+   */
+  public Result generateMST(File graphFile, EdgeConsumer output) throws IOException{
+    List<File> runFiles = new ArrayList<File>();
+    try(FileChannel channel = FileChannel.open(graphFile.toPath(), StandardOpenOption.READ)){
+      TextGraphParser parser = new TextGraphParser(channel);
+      parser.readHeader();
+      int numVertices = (int) parser.getNumVertices();
+
+      long runBytes = memoryBudget - (long) VERTEX_SIZE * numVertices - WRITE_BUFFER_SIZE;
+      long runCapacity = Math.min(runBytes / IN_MEMORY_EDGE_SIZE, Integer.MAX_VALUE - 8);
+      if(runCapacity < MIN_RUN_CAPACITY)
+        throw new IllegalArgumentException("Error: a memory budget of " + memoryBudget + " bytes is too small for a graph with " + numVertices + " vertices");
+
+      RunBuilder runs = new RunBuilder(numVertices, (int) runCapacity, (int) Math.min(Math.max(parser.getNumEdges(), MIN_RUN_CAPACITY), runCapacity), runFiles);
+      parser.readEdges(runs);
+      Result result = new Result(numVertices, runs.numEdgesRead);
+
+      if(runFiles.isEmpty()){ // everything fit; the forest of the buffer is the MST
+        runs.reduce();
+        for(int i = 0; i < runs.size; i++){
+          result.addMSTEdge(output, runs.starts[i], runs.finishes[i], (int) (runs.keys[i] >> 32));
+        }
+        return result;
+      }
+
+      runs.reduce();
+      runs.spill();
+      runs = null; // the buffer is not needed while merging
+      result.numRuns = runFiles.size();
+      merge(runFiles, new UnionFind(numVertices), output, result);
+      return result;
+    } finally{
+      for(File runFile: runFiles){
+        runFile.delete();
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted runs by cost and runs Kruskal's algorithm on the merged
+   * stream
+   */
+  private void merge(List<File> runFiles, UnionFind components, EdgeConsumer output, Result result) throws IOException{
+    long readBytes = memoryBudget - (long) UNION_FIND_SIZE * components.getNumElements();
+    int bufferSize = (int) Math.max(MIN_READ_BUFFER_SIZE, Math.min(MAX_READ_BUFFER_SIZE, readBytes / runFiles.size()));
+
+    PriorityQueue<RunReader> readers = new PriorityQueue<RunReader>(runFiles.size());
+    try{
+      for(File runFile: runFiles){
+        RunReader reader = new RunReader(runFile, bufferSize);
+        if(reader.next())
+          readers.add(reader);
+        else
+          reader.close();
+      }
+
+      while(!readers.isEmpty() && components.getNumSets() > 1){
+        RunReader reader = readers.poll();
+        if(components.union(reader.start, reader.finish))
+          result.addMSTEdge(output, reader.start, reader.finish, reader.cost);
+        if(reader.next())
+          readers.add(reader);
+        else
+          reader.close();
+      }
+    } finally{
+      for(RunReader reader: readers){
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * Edge buffer that the graph file is streamed into
+   */
+  private class RunBuilder implements EdgeConsumer{
+
+    private int        capacity;
+
+    private int        size;
+
+    private long[]     keys;            // cost in the high 32 bits, index into starts and finishes in the low 32 bits
+
+    private int[]      starts;
+
+    private int[]      finishes;
+
+    private UnionFind  runComponents;
+
+    private long[]     forest;          // both vertices of every forest edge found by reduce()
+
+    private List<File> runFiles;
+
+    private long       numEdgesRead;
+
+    private RunBuilder(int numVertices, int capacity, int initialCapacity, List<File> runFiles){
+      this.capacity = capacity;
+      this.runFiles = runFiles;
+      keys = new long[initialCapacity];
+      starts = new int[initialCapacity];
+      finishes = new int[initialCapacity];
+      runComponents = new UnionFind(numVertices);
+      forest = new long[Math.max(numVertices - 1, 0)];
+    }
+
+    @Override
+    public void addEdge(int start, int finish, int cost) throws IOException{
+      numEdgesRead++;
+      if(size == keys.length){
+        if(size < capacity)
+          grow();
+        else{
+          reduce();
+          if(size > capacity / 2)
+            spill();
+        }
+      }
+      keys[size] = ((long) cost << 32) | size;
+      starts[size] = start;
+      finishes[size] = finish;
+      size++;
+    }
+
+    private void grow(){
+      int newLength = (int) Math.min((long) keys.length * 2, capacity);
+      keys = Arrays.copyOf(keys, newLength);
+      starts = Arrays.copyOf(starts, newLength);
+      finishes = Arrays.copyOf(finishes, newLength);
+    }
+
+    /**
+     * Sorts the buffer and keeps only the edges of its minimum spanning forest,
+     * still sorted and renumbered from 0
+     */
+    private void reduce(){
+      Arrays.sort(keys, 0, size);
+      runComponents.clear();
+      int kept = 0;
+      for(int i = 0; i < size && runComponents.getNumSets() > 1; i++){
+        int edge = (int) keys[i];
+        if(runComponents.union(starts[edge], finishes[edge])){
+          forest[kept] = ((long) starts[edge] << 32) | finishes[edge];
+          keys[kept] = (keys[i] & 0xFFFFFFFF00000000L) | kept;
+          kept++;
+        }
+      }
+      for(int i = 0; i < kept; i++){
+        starts[i] = (int) (forest[i] >>> 32);
+        finishes[i] = (int) forest[i];
+      }
+      size = kept;
+    }
+
+    /**
+     * Writes the (reduced, sorted) buffer to a new run file and empties it
+     */
+    private void spill() throws IOException{
+      if(size == 0)
+        return;
+      File runFile = File.createTempFile("mst-run", ".bin", tempDirectory);
+      runFiles.add(runFile);
+      try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(runFile), WRITE_BUFFER_SIZE))){
+        for(int i = 0; i < size; i++){
+          int edge = (int) keys[i];
+          out.writeInt((int) (keys[i] >> 32));
+          out.writeInt(starts[edge]);
+          out.writeInt(finishes[edge]);
+        }
+      }
+      size = 0;
+    }
+  }
+
+  /**
+   * Reads the edges of a run file in order; ordered by the cost of the current
+   * edge
+   */
+  private static class RunReader implements Comparable<RunReader>{
+
+    private DataInputStream in;
+
+    private int             cost;
+
+    private int             start;
+
+    private int             finish;
+
+    private RunReader(File runFile, int bufferSize) throws IOException{
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(runFile), bufferSize));
+    }
+
+    /**
+     * @return false if the run is exhausted
+     */
+    private boolean next() throws IOException{
+      try{
+        cost = in.readInt();
+      } catch(EOFException e){
+        return false;
+      }
+      start = in.readInt();
+      finish = in.readInt();
+      return true;
+    }
+
+    private void close() throws IOException{
+      in.close();
+    }
+
+    @Override
+    public int compareTo(RunReader other){
+      return Integer.compare(cost, other.cost);
+    }
+  }
+
+  /**
+   * Summary of an external MST run
+   */
+  public static class Result{
+
+    private int  numVertices;
+
+    private long numEdges;
+
+    private int  numRuns;
+
+    private int  numMSTEdges;
+
+    private long mstCost;
+
+    private Result(int numVertices, long numEdges){
+      this.numVertices = numVertices;
+      this.numEdges = numEdges;
+    }
+
+    private void addMSTEdge(EdgeConsumer output, int start, int finish, int cost) throws IOException{
+      output.addEdge(start, finish, cost);
+      numMSTEdges++;
+      mstCost += cost;
+    }
+
+    public int getNumVertices(){
+      return numVertices;
+    }
+
+    /**
+     * @return the number of edges read from the file
+     */
+    public long getNumEdges(){
+      return numEdges;
+    }
+
+    /**
+     * @return the number of runs spilled to temporary files
+     */
+    public int getNumRuns(){
+      return numRuns;
+    }
+
+    public int getNumMSTEdges(){
+      return numMSTEdges;
+    }
+
+    public long getMSTCost(){
+      return mstCost;
+    }
+  }
+
+}
@@ -0,0 +1,159 @@
+package ads.neeraj2608.mst.kruskalscheme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.UnionFind;
+import ads.neeraj2608.types.kruskalscheme.EdgeList;
+
+/**
+ * Class that generates the minimum spanning tree using the Filter-Kruskal
+ * algorithm. Instead of sorting all edges up front, the edges are partitioned
+ * quicksort-style into the edges lighter than, as heavy as and heavier than a
+ * random pivot edge. The light part is processed first (recursively). Then
+ * the edges as heavy as the pivot, which need no sorting, are added unless
+ * their endpoints are already connected, and every heavy edge whose endpoints
+ * are already connected is filtered out before the heavy part is processed.
+ * On dense graphs most heavy edges are filtered out and never sorted, which
+ * makes the algorithm close to linear in practice. Small ranges are sorted and
+ * run through plain Kruskal.
+ */
+public class FilterKruskalMSTGenerator implements MSTGeneratorInterface{
+
+  private static final int BASE_CASE_SIZE = 1 << 10; // ranges at most this long are sorted outright
+
+  @Override
+  public List<Edge> generateMST(Graph graph){
+    return generateMST(EdgeList.fromGraph(graph));
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    return generateMST(EdgeList.fromCSRGraph(graph));
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRAdjacency graph){
+    return generateMST(EdgeList.fromCSRAdjacency(graph));
+  }
+
+  private List<Edge> generateMST(EdgeList edgeList){
+    int numVertices = edgeList.getNumVertices();
+    List<Edge> generatedMST = new ArrayList<Edge>(Math.max(numVertices - 1, 0));
+    UnionFind components = new UnionFind(numVertices);
+
+    // every edge is packed into a long with the cost in the high 32 bits and the edge index in the low 32 bits
+    long[] keys = new long[edgeList.getNumEdges()];
+    for(int i = 0; i < keys.length; i++){
+      keys[i] = ((long) edgeList.getCost(i) << 32) | i;
+    }
+
+    filterKruskal(edgeList, keys, 0, keys.length, components, generatedMST);
+
+    return generatedMST;
+  }
+
+  /**
+   * Adds the MST edges among keys[from, to) to the MST, in order of increasing
+   * cost. Every edge with a lower cost than these has already been processed.
+   */
+  private void filterKruskal(EdgeList edgeList, long[] keys, int from, int to, UnionFind components, List<Edge> generatedMST){
+    if(isComplete(components))
+      return;
+
+    if(to - from <= BASE_CASE_SIZE){
+      kruskal(edgeList, keys, from, to, components, generatedMST);
+      return;
+    }
+
+    long pivotCost = keys[ThreadLocalRandom.current().nextInt(from, to)] >> 32;
+    int[] bounds = partition(keys, from, to, pivotCost);
+    int lightTo = bounds[0];
+    int heavyFrom = bounds[1];
+
+    // neither side contains the pivot, so both are shorter than the range
+    filterKruskal(edgeList, keys, from, lightTo, components, generatedMST);
+    addEdges(edgeList, keys, lightTo, heavyFrom, components, generatedMST); // all cost the same, so they need no sorting
+    int heavyTo = filter(edgeList, keys, heavyFrom, to, components);
+    filterKruskal(edgeList, keys, heavyFrom, heavyTo, components, generatedMST);
+  }
+
+  /**
+   * Plain Kruskal on keys[from, to)
+   */
+  private void kruskal(EdgeList edgeList, long[] keys, int from, int to, UnionFind components, List<Edge> generatedMST){
+    Arrays.sort(keys, from, to);
+    addEdges(edgeList, keys, from, to, components, generatedMST);
+  }
+
+  /**
+   * Adds the edges of keys[from, to), in that order, whenever they join two
+   * different components
+   */
+  private void addEdges(EdgeList edgeList, long[] keys, int from, int to, UnionFind components, List<Edge> generatedMST){
+    for(int i = from; i < to && !isComplete(components); i++){
+      int edge = (int) keys[i];
+      if(components.union(edgeList.getStart(edge), edgeList.getFinish(edge)))
+        generatedMST.add(new Edge(edgeList.getStart(edge), edgeList.getFinish(edge), edgeList.getCost(edge), false));
+    }
+  }
+
+  /**
+   * Three-way partition of keys[from, to) around pivotCost: the edges that
+   * cost less come first, then the edges that cost exactly pivotCost, then the
+   * edges that cost more.
+   *
+   * @return the index of the first edge that costs pivotCost and the index of
+   *         the first edge that costs more
+   */
+  private static int[] partition(long[] keys, int from, int to, long pivotCost){
+    int light = from;
+    int i = from;
+    int heavy = to;
+    while(i < heavy){
+      long cost = keys[i] >> 32;
+      if(cost < pivotCost){
+        swap(keys, light++, i++);
+      } else if(cost > pivotCost){
+        swap(keys, i, --heavy);
+      } else{
+        i++;
+      }
+    }
+    return new int[]{light, heavy};
+  }
+
+  private static void swap(long[] keys, int i, int j){
+    long temp = keys[i];
+    keys[i] = keys[j];
+    keys[j] = temp;
+  }
+
+  /**
+   * Drops the edges of keys[from, to) whose endpoints are already connected,
+   * compacting the rest to the front.
+   *
+   * @return the end of the compacted range
+   */
+  private static int filter(EdgeList edgeList, long[] keys, int from, int to, UnionFind components){
+    int kept = from;
+    for(int i = from; i < to; i++){
+      int edge = (int) keys[i];
+      if(!components.connected(edgeList.getStart(edge), edgeList.getFinish(edge)))
+        keys[kept++] = keys[i];
+    }
+    return kept;
+  }
+
+  private static boolean isComplete(UnionFind components){
+    return components.getNumSets() <= 1;
+  }
+
+}
@@ -0,0 +1,53 @@
+package ads.neeraj2608.mst.kruskalscheme;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.UnionFind;
+import ads.neeraj2608.types.kruskalscheme.EdgeList;
+
+/**
+ * Class that generates the minimum spanning tree using Kruskal's algorithm.
+ * Every undirected edge is extracted once, the edges are sorted by cost with a
+ * parallel sort, and then they are added in that order whenever they join two
+ * different components of a {@link UnionFind}. The scan stops as soon as n - 1
+ * edges have been accepted.
+ */
+public class KruskalMSTGenerator implements MSTGeneratorInterface{
+
+  @Override
+  public List<Edge> generateMST(Graph graph){
+    return generateMST(EdgeList.fromGraph(graph));
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    return generateMST(EdgeList.fromCSRGraph(graph));
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRAdjacency graph){
+    return generateMST(EdgeList.fromCSRAdjacency(graph));
+  }
+
+  private List<Edge> generateMST(EdgeList edgeList){
+    int numVertices = edgeList.getNumVertices();
+    List<Edge> generatedMST = new ArrayList<Edge>(Math.max(numVertices - 1, 0));
+    UnionFind components = new UnionFind(numVertices);
+
+    int[] order = edgeList.sortedByCost();
+    for(int i = 0; i < order.length && generatedMST.size() < numVertices - 1; i++){
+      int edge = order[i];
+      if(components.union(edgeList.getStart(edge), edgeList.getFinish(edge)))
+        generatedMST.add(new Edge(edgeList.getStart(edge), edgeList.getFinish(edge), edgeList.getCost(edge), false));
+    }
+
+    return generatedMST;
+  }
+
+}
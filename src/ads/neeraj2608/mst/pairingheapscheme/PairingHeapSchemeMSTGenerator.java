@@ -0,0 +1,18 @@
+package ads.neeraj2608.mst.pairingheapscheme;
+
+import ads.neeraj2608.mst.common.PrimMSTGenerator;
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+import ads.neeraj2608.types.pairingheapscheme.PairingHeap;
+
+/**
+ * Class that generates the minimum spanning tree using a pairing heap based
+ * implementation of Prim's shortest path algorithm
+ */
+public class PairingHeapSchemeMSTGenerator extends PrimMSTGenerator{
+
+  @Override
+  protected IndexedMinPriorityQueue createQueue(int numVertices){
+    return new PairingHeap(numVertices);
+  }
+
+}
@@ -4,35 +4,162 @@ import java.util.ArrayList;
 import java.util.List;
 
 import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.mst.common.MSTResult;
 import ads.neeraj2608.types.common.AdjListNode;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
 import ads.neeraj2608.types.common.Edge;
 import ads.neeraj2608.types.common.Graph;
 
 /**
  * Class that generates the minimum spanning tree using an array-based
- * implementation of Prim's shortest path algorithm
+ * implementation of Prim's shortest path algorithm. If the graph is not
+ * connected, a new tree is started whenever no edge leaves the current one,
+ * and the result is the minimum spanning forest.
  */
 public class SimpleSchemeMSTGenerator implements MSTGeneratorInterface{
 
+  /*
+   * (non-Javadoc) The graph is only read: which nodes are in the MST is kept in
+   * an array of this run, so several runs can share one graph.
+   */
   @Override
   public List<Edge> generateMST(Graph graph){
-    List<Integer> nodesInMST = new ArrayList<Integer>();
+    if(graph.getNumVertices() == 0)
+      return new ArrayList<Edge>();
+
+    boolean[] inMST = new boolean[graph.getNumVertices()];
     int startMSTAt = graph.selectARandomNode();
-    nodesInMST.add(startMSTAt);
+    inMST[startMSTAt] = true;
 
     Edge[] feelerEdges = new Edge[graph.getNumVertices()];
     for(int i = 0; i < feelerEdges.length; i++){
       feelerEdges[i] = new Edge(0, 0, Integer.MAX_VALUE, false);
     }
-    feelerEdges[startMSTAt] = new Edge(startMSTAt, startMSTAt, 0, true);
 
     List<Edge> finalMSTEdges = new ArrayList<Edge>();
 
-    buildMSTNodeByNode(graph, startMSTAt, nodesInMST, finalMSTEdges, feelerEdges);
+    buildMSTNodeByNode(graph, startMSTAt, 1, inMST, finalMSTEdges, feelerEdges);
 
     return finalMSTEdges;
   }
 
+  @Override
+  public List<Edge> generateMST(CSRGraph graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  @Override
+  public List<Edge> generateMST(CSRAdjacency graph){
+    return generateMSTResult(graph).toEdgeList();
+  }
+
+  /**
+   * Array-based Prim over a CSR graph. Same scheme as
+   * {@link #buildMSTNodeByNode(Graph, int, int, boolean[], List, Edge[])}, but the feeler
+   * edges are kept as parallel primitive arrays and the loop is iterative. The
+   * feeler edge of a node is final once the node is in the MST, so the arrays
+   * become the parents and costs of the result, and no Edge objects are
+   * created at all.
+   */
+  public MSTResult generateMSTResult(CSRGraph graph){
+    int numVertices = graph.getNumVertices();
+    if(numVertices == 0) //there is no node to start the tree at
+      return new MSTResult(new int[0], new int[0]);
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] weights = graph.getWeights();
+
+    int[] feelerCosts = new int[numVertices];
+    int[] feelerStarts = new int[numVertices];
+    boolean[] inMST = new boolean[numVertices];
+    for(int i = 0; i < numVertices; i++){
+      feelerCosts[i] = Integer.MAX_VALUE;
+      feelerStarts[i] = MSTResult.NO_PARENT;
+    }
+
+    int newestMSTNode = graph.selectARandomNode();
+    inMST[newestMSTNode] = true;
+    for(int nodesInMST = 1; nodesInMST < numVertices; nodesInMST++){
+      //add the outgoing edges from the newest node to all the outgoing edges we already have
+      for(int arc = offsets[newestMSTNode]; arc < offsets[newestMSTNode + 1]; arc++){
+        int target = targets[arc];
+        if(!inMST[target] && weights[arc] < feelerCosts[target]){
+          feelerCosts[target] = weights[arc];
+          feelerStarts[target] = newestMSTNode;
+        }
+      }
+
+      //O(n) traversal through the feeler edges to pick the least one
+      int minCost = Integer.MAX_VALUE;
+      int minEdgeIndex = -1;
+      for(int i = 0; i < numVertices; i++){
+        if(!inMST[i] && feelerCosts[i] < minCost){
+          minCost = feelerCosts[i];
+          minEdgeIndex = i;
+        }
+      }
+
+      if(minEdgeIndex == -1) //no edge leaves the tree: start the tree of the next component, with no parent
+        minEdgeIndex = firstNotInMST(inMST);
+      inMST[minEdgeIndex] = true;
+      newestMSTNode = minEdgeIndex;
+    }
+
+    return new MSTResult(feelerStarts, feelerCosts);
+  }
+
+  /**
+   * Same as {@link #generateMSTResult(CSRGraph)}, reading the arcs through the
+   * CSRAdjacency accessors.
+   */
+  @Override
+  public MSTResult generateMSTResult(CSRAdjacency graph){
+    if(graph instanceof CSRGraph)
+      return generateMSTResult((CSRGraph) graph);
+
+    int numVertices = graph.getNumVertices();
+    if(numVertices == 0) //there is no node to start the tree at
+      return new MSTResult(new int[0], new int[0]);
+    int[] feelerCosts = new int[numVertices];
+    int[] feelerStarts = new int[numVertices];
+    boolean[] inMST = new boolean[numVertices];
+    for(int i = 0; i < numVertices; i++){
+      feelerCosts[i] = Integer.MAX_VALUE;
+      feelerStarts[i] = MSTResult.NO_PARENT;
+    }
+
+    int newestMSTNode = graph.selectARandomNode();
+    inMST[newestMSTNode] = true;
+    for(int nodesInMST = 1; nodesInMST < numVertices; nodesInMST++){
+      long endArc = graph.getEndArc(newestMSTNode);
+      for(long arc = graph.getFirstArc(newestMSTNode); arc < endArc; arc++){
+        int target = graph.getTarget(arc);
+        int weight = graph.getWeight(arc);
+        if(!inMST[target] && weight < feelerCosts[target]){
+          feelerCosts[target] = weight;
+          feelerStarts[target] = newestMSTNode;
+        }
+      }
+
+      int minCost = Integer.MAX_VALUE;
+      int minEdgeIndex = -1;
+      for(int i = 0; i < numVertices; i++){
+        if(!inMST[i] && feelerCosts[i] < minCost){
+          minCost = feelerCosts[i];
+          minEdgeIndex = i;
+        }
+      }
+
+      if(minEdgeIndex == -1) //no edge leaves the tree: start the tree of the next component, with no parent
+        minEdgeIndex = firstNotInMST(inMST);
+      inMST[minEdgeIndex] = true;
+      newestMSTNode = minEdgeIndex;
+    }
+
+    return new MSTResult(feelerStarts, feelerCosts);
+  }
+
   /**
    * Recursive method to build the MST. At every step of the algorithm, we
    * record the outgoing edges from <i>all</i> of the vertices put into the MST
@@ -43,27 +170,29 @@ public class SimpleSchemeMSTGenerator implements MSTGeneratorInterface{
    * 
    * @param graph Graph object to build the MST of
    * @param startMSTAt node to start the MST at
-   * @param nodesInMST nodes put into the MST at any given instant
+   * @param numNodesInMST number of nodes put into the MST at any given instant
+   * @param inMST which nodes have been put into the MST
    * @param finalMSTEdges the edges in the built MST
    * @param feelerEdges list of edges going from the set of vertices in the MST
    *                    to the set of vertices not in the MST
    */
   private void buildMSTNodeByNode(Graph graph,
       int startMSTAt,
-      List<Integer> nodesInMST,
+      int numNodesInMST,
+      boolean[] inMST,
       List<Edge> finalMSTEdges,
       Edge[] feelerEdges){
     //add the outgoing edges from this node to all the outgoing edges we already have
     for(AdjListNode node: graph.getAdjList().get(startMSTAt)){
       Edge feelerEdge = node.getEdge();
-      if(!nodesInMST.contains(feelerEdge.getFinish())){
+      if(!inMST[feelerEdge.getFinish()]){
         if(feelerEdge.getCost() < feelerEdges[feelerEdge.getFinish()].getCost()){
           feelerEdges[feelerEdge.getFinish()] = feelerEdge;
         }
       }
     }
 
-    if(nodesInMST.size() == graph.getNumVertices())
+    if(numNodesInMST == graph.getNumVertices())
       return;
 
     //O(n) traversal through the feeler edges to pick the least one
@@ -71,18 +200,33 @@ public class SimpleSchemeMSTGenerator implements MSTGeneratorInterface{
     int minEdgeIndex = -1;
     Edge minEdge = null;
     for(int i = 0; i < feelerEdges.length; i++){
-      if(!feelerEdges[i].isAlreadyInMST() && feelerEdges[i].getCost() < minCost){
+      if(!inMST[i] && feelerEdges[i].getCost() < minCost){
         minCost = feelerEdges[i].getCost();
         minEdge = feelerEdges[i];
         minEdgeIndex = i;
       }
     }
 
+    if(minEdge == null){
+      //no edge leaves the tree: start the tree of the next component at a node
+      //that is not in the MST yet
+      minEdgeIndex = firstNotInMST(inMST);
+      inMST[minEdgeIndex] = true;
+      buildMSTNodeByNode(graph, minEdgeIndex, numNodesInMST + 1, inMST, finalMSTEdges, feelerEdges);
+      return;
+    }
+
     finalMSTEdges.add(minEdge);
-    nodesInMST.add(minEdge.getFinish());
-    feelerEdges[minEdgeIndex].setAlreadyInMST(true);
+    inMST[minEdgeIndex] = true;
+
+    buildMSTNodeByNode(graph, minEdge.getFinish(), numNodesInMST + 1, inMST, finalMSTEdges, feelerEdges);
+  }
 
-    buildMSTNodeByNode(graph, minEdge.getFinish(), nodesInMST, finalMSTEdges, feelerEdges);
+  private static int firstNotInMST(boolean[] inMST){
+    int node = 0;
+    while(inMST[node])
+      node++;
+    return node;
   }
 
 }
@@ -0,0 +1,158 @@
+package ads.neeraj2608.types.bucketscheme;
+
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * This class represents a bucket queue for small integer keys in [0, maxKey].
+ * There is one bucket per key value, plus one for Integer.MAX_VALUE
+ * (\infinity). Every bucket is a doubly linked list of vertices threaded
+ * through int arrays, so inserting a vertex or moving it to a lower bucket on
+ * decreaseKey is O(1). A bitmap records which buckets are non-empty; deleteMin
+ * finds the lowest one by scanning the bitmap a word at a time.
+ * <p>
+ * The keys Prim's algorithm extracts are edge weights and are not monotone, so
+ * a monotone bucket queue or radix heap cannot be used here. The bitmap scan
+ * starts at a cursor below which all buckets are known to be empty; the
+ * cursor is moved down whenever a key below it is inserted.
+ * </p>
+ */
+public class BucketQueue implements IndexedMinPriorityQueue{
+
+  private static final int NIL = -1;
+
+  private int              maxKey;
+
+  private int[]            bucketHeads;    // first vertex of every bucket; the last bucket holds the Integer.MAX_VALUE keys
+
+  private long[]           nonEmpty;       // bitmap of non-empty buckets
+
+  private int[]            key;
+
+  private int[]            next;
+
+  private int[]            prev;
+
+  private long[]           inQueue;        // bitset; set from insert until deleteMin
+
+  private int              lowestBucket;   // no bucket below this one is non-empty
+
+  private int              size;
+
+  /**
+   * @param capacity
+   *          vertex indices must be in [0, capacity)
+   * @param maxKey
+   *          largest finite key that will be inserted
+   */
+  public BucketQueue(int capacity, int maxKey){
+    if(maxKey < 0 || maxKey == Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Error: maxKey must be in [0, Integer.MAX_VALUE), got " + maxKey);
+    this.maxKey = maxKey;
+    int numBuckets = maxKey + 2;
+    bucketHeads = new int[numBuckets];
+    for(int i = 0; i < numBuckets; i++){
+      bucketHeads[i] = NIL;
+    }
+    nonEmpty = new long[(numBuckets + 63) >>> 6];
+    key = new int[capacity];
+    next = new int[capacity];
+    prev = new int[capacity];
+    inQueue = new long[(capacity + 63) >>> 6];
+    lowestBucket = numBuckets;
+  }
+
+  @Override
+  public void insert(int vertex, int key){
+    if(contains(vertex))
+      throw new IllegalArgumentException("Error: vertex " + vertex + " is already in the queue");
+    this.key[vertex] = key;
+    inQueue[vertex >>> 6] |= 1L << vertex;
+    size++;
+    addToBucket(vertex, bucketOf(key));
+  }
+
+  @Override
+  public void decreaseKey(int vertex, int newKey){
+    if(!contains(vertex) || newKey >= key[vertex])
+      return;
+    removeFromBucket(vertex, bucketOf(key[vertex]));
+    key[vertex] = newKey;
+    addToBucket(vertex, bucketOf(newKey));
+  }
+
+  @Override
+  public int deleteMin(){
+    if(size == 0)
+      throw new RuntimeException("Error: No elements in queue");
+
+    int word = lowestBucket >>> 6;
+    long bits = nonEmpty[word] & (-1L << lowestBucket);
+    while(bits == 0){
+      bits = nonEmpty[++word];
+    }
+    lowestBucket = (word << 6) + Long.numberOfTrailingZeros(bits);
+
+    int minVertex = bucketHeads[lowestBucket];
+    removeFromBucket(minVertex, lowestBucket);
+    inQueue[minVertex >>> 6] &= ~(1L << minVertex);
+    size--;
+
+    return minVertex;
+  }
+
+  private int bucketOf(int key){
+    if(key == Integer.MAX_VALUE)
+      return maxKey + 1;
+    if(key < 0 || key > maxKey)
+      throw new IllegalArgumentException("Error: key " + key + " is not in [0, " + maxKey + "]");
+    return key;
+  }
+
+  private void addToBucket(int vertex, int bucket){
+    int head = bucketHeads[bucket];
+    next[vertex] = head;
+    prev[vertex] = NIL;
+    if(head != NIL)
+      prev[head] = vertex;
+    else
+      nonEmpty[bucket >>> 6] |= 1L << bucket;
+    bucketHeads[bucket] = vertex;
+    if(bucket < lowestBucket)
+      lowestBucket = bucket;
+  }
+
+  private void removeFromBucket(int vertex, int bucket){
+    if(prev[vertex] != NIL)
+      next[prev[vertex]] = next[vertex];
+    else
+      bucketHeads[bucket] = next[vertex];
+    if(next[vertex] != NIL)
+      prev[next[vertex]] = prev[vertex];
+    if(bucketHeads[bucket] == NIL)
+      nonEmpty[bucket >>> 6] &= ~(1L << bucket);
+  }
+
+  @Override
+  public boolean isEmpty(){
+    return size == 0;
+  }
+
+  @Override
+  public boolean contains(int vertex){
+    return (inQueue[vertex >>> 6] & (1L << vertex)) != 0;
+  }
+
+  @Override
+  public int keyOf(int vertex){
+    return key[vertex];
+  }
+
+  public int getMaxKey(){
+    return maxKey;
+  }
+
+  public int getSize(){
+    return size;
+  }
+
+}
@@ -1,13 +1,13 @@
 package ads.neeraj2608.types.common;
 
 /**
- * Models a node for the graph adjacency list
+ * Models a node for the graph adjacency list. Nodes are immutable.
  */
 public class AdjListNode{
 
-  int targetNode;
+  final int targetNode;
   
-  Edge edge;
+  final Edge edge;
   
   public AdjListNode(int targetNode, Edge edge){
     super();
@@ -41,15 +41,7 @@ public class AdjListNode{
     return targetNode;
   }
 
-  public void setTargetNode(int targetNode){
-    this.targetNode = targetNode;
-  }
-
   public Edge getEdge(){
     return edge;
   }
-
-  public void setEdge(Edge edge){
-    this.edge = edge;
-  }
 }
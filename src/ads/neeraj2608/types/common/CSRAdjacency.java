@@ -0,0 +1,42 @@
+package ads.neeraj2608.types.common;
+
+/**
+ * Read access to a graph laid out in compressed sparse row (CSR) form: the
+ * arcs leaving vertex v are numbered getFirstArc(v) to getEndArc(v) - 1, and
+ * every arc has a target vertex and a weight. Every undirected edge is stored
+ * as two arcs, one in each direction.
+ * <p>
+ * Arc numbers are longs so that implementations are not limited to 2^31 arcs.
+ * {@link CSRGraph} keeps the arrays on the Java heap; other implementations
+ * (e.g. {@link OffHeapCSRGraph} and {@link MappedCSRGraph}) serve them from
+ * outside it.
+ * </p>
+ */
+public interface CSRAdjacency{
+
+  public int getNumVertices();
+
+  public long getNumArcs();
+
+  /**
+   * Picks a random node in the graph
+   *
+   * @return the index of the connected node
+   */
+  public int selectARandomNode();
+
+  /**
+   * @return the number of the first arc leaving the vertex
+   */
+  public long getFirstArc(int vertex);
+
+  /**
+   * @return one past the number of the last arc leaving the vertex
+   */
+  public long getEndArc(int vertex);
+
+  public int getTarget(long arc);
+
+  public int getWeight(long arc);
+
+}
@@ -0,0 +1,294 @@
+package ads.neeraj2608.types.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents a graph in compressed sparse row (CSR) form.
+ * Connectivity is stored in three primitive arrays:
+ * <ul>
+ * <li><b>offsets</b> the arcs leaving vertex v occupy positions offsets[v] to
+ * offsets[v + 1] - 1 of the other two arrays
+ * <li><b>targets</b> the node that each arc ends at
+ * <li><b>weights</b> the cost of each arc
+ * </ul>
+ * <p>
+ * Like {@link Graph}, every undirected edge is stored as two arcs, one in each
+ * direction. Instances are built with a {@link CSRGraph.Builder} or converted
+ * from an existing {@link Graph} with {@link #fromGraph(Graph)}.
+ * </p>
+ */
+public class CSRGraph implements CSRAdjacency{
+
+  int   numVertices;
+
+  int[] offsets;  // numVertices + 1 entries; offsets[numVertices] is the total number of arcs
+
+  int[] targets;
+
+  int[] weights;
+
+  CSRGraph(int numVertices, int[] offsets, int[] targets, int[] weights){
+    this.numVertices = numVertices;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+  }
+
+  /**
+   * Converts an adjacency list based graph into CSR form. The order of the
+   * arcs of every vertex is preserved.
+   *
+   * @param graph
+   *          graph to convert
+   * @return the equivalent CSR graph
+   */
+  public static CSRGraph fromGraph(Graph graph){
+    int numVertices = graph.getNumVertices();
+    int[] offsets = new int[numVertices + 1];
+    int arc = 0;
+    for(int i = 0; i < numVertices; i++){
+      offsets[i] = arc;
+      arc += graph.getAdjList().get(i).size();
+    }
+    offsets[numVertices] = arc;
+
+    int[] targets = new int[arc];
+    int[] weights = new int[arc];
+    arc = 0;
+    for(List<AdjListNode> nodes: graph.getAdjList()){
+      for(AdjListNode node: nodes){
+        targets[arc] = node.getTargetNode();
+        weights[arc] = node.getEdge().getCost();
+        arc++;
+      }
+    }
+
+    return new CSRGraph(numVertices, offsets, targets, weights);
+  }
+
+  /**
+   * Converts this graph into adjacency list form, the inverse of
+   * {@link #fromGraph(Graph)}. The order of the arcs of every vertex is
+   * preserved.
+   *
+   * @return the equivalent adjacency list based graph
+   */
+  public Graph toGraph(){
+    Graph graph = new Graph(numVertices, 0);
+    graph.numEdges = getNumEdges();
+    for(int vertex = 0; vertex < numVertices; vertex++){
+      List<AdjListNode> adjacentNodes = graph.getAdjList().get(vertex);
+      for(int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++){
+        adjacentNodes.add(new AdjListNode(targets[arc], new Edge(vertex, targets[arc], weights[arc], false)));
+      }
+    }
+    return graph;
+  }
+
+  @Override
+  public int selectARandomNode(){
+    return (int) (Math.random() * numVertices);
+  }
+
+  @Override
+  public int getNumVertices(){
+    return numVertices;
+  }
+
+  /**
+   * @return the number of undirected edges, i.e. half the number of arcs
+   */
+  public int getNumEdges(){
+    return offsets[numVertices] / 2;
+  }
+
+  @Override
+  public long getNumArcs(){
+    return offsets[numVertices];
+  }
+
+  @Override
+  public long getFirstArc(int vertex){
+    return offsets[vertex];
+  }
+
+  @Override
+  public long getEndArc(int vertex){
+    return offsets[vertex + 1];
+  }
+
+  @Override
+  public int getTarget(long arc){
+    return targets[(int) arc];
+  }
+
+  @Override
+  public int getWeight(long arc){
+    return weights[(int) arc];
+  }
+
+  public int getDegree(int vertex){
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  public int[] getOffsets(){
+    return offsets;
+  }
+
+  public int[] getTargets(){
+    return targets;
+  }
+
+  public int[] getWeights(){
+    return weights;
+  }
+
+  /**
+   * Collects undirected edges and lays them out in CSR form. Edges are buffered
+   * in primitive arrays and distributed to their vertices with a single
+   * counting sort pass when {@link #build()} is called.
+   */
+  public static class Builder{
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int              numVertices;
+
+    private int              numEdges;
+
+    private int[]            starts;
+
+    private int[]            finishes;
+
+    private int[]            costs;
+
+    public Builder(int numVertices){
+      this(numVertices, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param numVertices
+     *          number of vertices in graph
+     * @param expectedNumEdges
+     *          number of undirected edges to reserve space for
+     */
+    public Builder(int numVertices, int expectedNumEdges){
+      if(numVertices < 0)
+        throw new IllegalArgumentException("Error: negative number of vertices " + numVertices);
+      this.numVertices = numVertices;
+      int capacity = Math.max(expectedNumEdges, 1);
+      starts = new int[capacity];
+      finishes = new int[capacity];
+      costs = new int[capacity];
+    }
+
+    /**
+     * Adds an undirected edge to the graph being built
+     *
+     * @param start
+     *          one end of the edge
+     * @param finish
+     *          the other end of the edge
+     * @param cost
+     *          cost of the edge
+     * @return this builder
+     */
+    public Builder addEdge(int start, int finish, int cost){
+      checkVertex(start);
+      checkVertex(finish);
+      if(numEdges == starts.length)
+        grow();
+      starts[numEdges] = start;
+      finishes[numEdges] = finish;
+      costs[numEdges] = cost;
+      numEdges++;
+      return this;
+    }
+
+    public int getNumVertices(){
+      return numVertices;
+    }
+
+    public int getNumEdges(){
+      return numEdges;
+    }
+
+    /**
+     * Creates the CSR graph. Each edge added is stored as two arcs; the arcs of
+     * a vertex appear in the order their edges were added.
+     *
+     * @return the built graph
+     */
+    public CSRGraph build(){
+      return build(Collections.singletonList(this));
+    }
+
+    /**
+     * Creates one CSR graph from the edges of several builders over the same
+     * vertices, e.g. builders that different threads filled in parallel. The
+     * result is the same as if all the edges had been added to one builder, in
+     * the order the builders are given. The edges are distributed with a
+     * single counting sort pass, without first being copied together.
+     *
+     * @param builders
+     *          at least one builder; all must have the same number of vertices
+     * @return the built graph
+     */
+    public static CSRGraph build(List<Builder> builders){
+      int numVertices = builders.get(0).numVertices;
+      long numArcs = 0;
+      for(Builder builder: builders){
+        if(builder.numVertices != numVertices)
+          throw new IllegalArgumentException("Error: cannot merge builders with " + numVertices + " and " + builder.numVertices + " vertices");
+        numArcs += 2L * builder.numEdges;
+      }
+      if(numArcs > Integer.MAX_VALUE)
+        throw new IllegalArgumentException("Error: too many arcs for a CSR graph: " + numArcs);
+
+      int[] offsets = new int[numVertices + 1];
+      for(Builder builder: builders){
+        for(int i = 0; i < builder.numEdges; i++){
+          offsets[builder.starts[i] + 1]++;
+          offsets[builder.finishes[i] + 1]++;
+        }
+      }
+      for(int i = 0; i < numVertices; i++){
+        offsets[i + 1] += offsets[i];
+      }
+
+      int[] targets = new int[(int) numArcs];
+      int[] weights = new int[(int) numArcs];
+      int[] next = Arrays.copyOf(offsets, numVertices);
+      for(Builder builder: builders){
+        int[] starts = builder.starts;
+        int[] finishes = builder.finishes;
+        int[] costs = builder.costs;
+        for(int i = 0; i < builder.numEdges; i++){
+          int arc = next[starts[i]]++;
+          targets[arc] = finishes[i];
+          weights[arc] = costs[i];
+          arc = next[finishes[i]]++;
+          targets[arc] = starts[i];
+          weights[arc] = costs[i];
+        }
+      }
+
+      return new CSRGraph(numVertices, offsets, targets, weights);
+    }
+
+    private void checkVertex(int vertex){
+      if(vertex < 0 || vertex >= numVertices)
+        throw new IllegalArgumentException("Error: vertex " + vertex + " is not in [0, " + numVertices + ")");
+    }
+
+    private void grow(){
+      int capacity = starts.length + (starts.length >> 1) + 1;
+      starts = Arrays.copyOf(starts, capacity);
+      finishes = Arrays.copyOf(finishes, capacity);
+      costs = Arrays.copyOf(costs, capacity);
+    }
+  }
+
+}
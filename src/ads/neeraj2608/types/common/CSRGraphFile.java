@@ -0,0 +1,175 @@
+package ads.neeraj2608.types.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Reads and writes the binary graph file format. A file holds one graph in CSR
+ * form, all numbers little-endian:
+ * <ul>
+ * <li><b>header</b> (24 bytes) the int magic number "CSRG", the int format
+ * version, the int number of vertices n, an unused int, and the long number
+ * of arcs m
+ * <li><b>offsets</b> n + 1 longs; the arcs leaving vertex v are arcs
+ * offsets[v] to offsets[v + 1] - 1
+ * <li><b>targets</b> m ints, the vertex every arc ends at
+ * <li><b>weights</b> m ints, the cost of every arc
+ * </ul>
+ * As everywhere else, every undirected edge is stored as two arcs.
+ */
+public class CSRGraphFile{
+
+  public static final int  MAGIC       = 0x47525343; // "CSRG" when read as little-endian bytes
+
+  public static final int  VERSION     = 1;
+
+  static final int         HEADER_SIZE = 24;
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  /**
+   * Checks whether a file starts with the magic number of the binary format
+   * (as opposed to, e.g., a text graph file)
+   */
+  public static boolean isGraphFile(File file) throws IOException{
+    try(RandomAccessFile raf = new RandomAccessFile(file, "r")){
+      if(raf.length() < HEADER_SIZE)
+        return false;
+      return Integer.reverseBytes(raf.readInt()) == MAGIC;
+    }
+  }
+
+  /**
+   * Writes a graph to a file in the binary format, replacing the file if it
+   * exists
+   */
+  public static void write(CSRAdjacency graph, File file) throws IOException{
+    int numVertices = graph.getNumVertices();
+    long numArcs = graph.getNumArcs();
+
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()){
+      channel.truncate(0);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(numVertices).putInt(0).putLong(numArcs);
+
+      for(int vertex = 0; vertex < numVertices; vertex++){
+        ensureRemaining(channel, buffer, 8);
+        buffer.putLong(graph.getFirstArc(vertex));
+      }
+      ensureRemaining(channel, buffer, 8);
+      buffer.putLong(numArcs);
+
+      for(long arc = 0; arc < numArcs; arc++){
+        ensureRemaining(channel, buffer, 4);
+        buffer.putInt(graph.getTarget(arc));
+      }
+      for(long arc = 0; arc < numArcs; arc++){
+        ensureRemaining(channel, buffer, 4);
+        buffer.putInt(graph.getWeight(arc));
+      }
+      flush(channel, buffer);
+    }
+  }
+
+  private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int numBytes) throws IOException{
+    if(buffer.remaining() < numBytes)
+      flush(channel, buffer);
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException{
+    buffer.flip();
+    while(buffer.hasRemaining())
+      channel.write(buffer);
+    buffer.clear();
+  }
+
+  /**
+   * Memory-maps a binary graph file. The header is checked, and the offsets
+   * are read once to check that they run from 0 to the number of arcs without
+   * ever decreasing; the targets and weights are not read.
+   *
+   * @return a graph backed by the mapped file
+   * @throws IOException
+   *           if the file can't be read or is not a valid graph file
+   */
+  public static MappedCSRGraph map(File file) throws IOException{
+    try(RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()){
+      if(channel.size() < HEADER_SIZE)
+        throw new IOException("Error: " + file + " is too short to be a graph file");
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while(header.hasRemaining() && channel.read(header, header.position()) >= 0);
+      header.flip();
+
+      if(header.getInt() != MAGIC)
+        throw new IOException("Error: " + file + " is not a graph file");
+      int version = header.getInt();
+      if(version != VERSION)
+        throw new IOException("Error: unsupported graph file version " + version);
+      int numVertices = header.getInt();
+      header.getInt();
+      long numArcs = header.getLong();
+      if(numVertices < 0 || numArcs < 0)
+        throw new IOException("Error: corrupt graph file header");
+
+      long offsetsStart = HEADER_SIZE;
+      long targetsStart = offsetsStart + 8L * (numVertices + 1L);
+      long weightsStart = targetsStart + 4L * numArcs;
+      long expectedSize = weightsStart + 4L * numArcs;
+      if(channel.size() != expectedSize)
+        throw new IOException("Error: graph file " + file + " has " + channel.size() + " bytes, expected " + expectedSize);
+
+      LongBuffer[] offsets = mapLongs(channel, offsetsStart, numVertices + 1L);
+      IntBuffer[] targets = mapInts(channel, targetsStart, numArcs);
+      IntBuffer[] weights = mapInts(channel, weightsStart, numArcs);
+
+      checkOffsets(offsets, numArcs, file);
+      return new MappedCSRGraph(numVertices, numArcs, offsets, targets, weights);
+    } // the mappings stay valid after the channel is closed
+  }
+
+  /**
+   * Checks that the offsets start at 0, end at numArcs and never decrease, so
+   * that every arc number a generator computes from them is in range
+   */
+  private static void checkOffsets(LongBuffer[] offsets, long numArcs, File file) throws IOException{
+    long previous = 0;
+    for(LongBuffer chunk: offsets){
+      for(int i = 0; i < chunk.limit(); i++){
+        long offset = chunk.get(i);
+        if(offset < previous)
+          throw new IOException("Error: corrupt offsets in graph file " + file + ": " + offset + " follows " + previous);
+        previous = offset;
+      }
+    }
+    if(offsets[0].get(0) != 0 || previous != numArcs)
+      throw new IOException("Error: corrupt offsets in graph file " + file);
+  }
+
+  private static LongBuffer[] mapLongs(FileChannel channel, long start, long length) throws IOException{
+    LongBuffer[] chunks = new LongBuffer[OffHeapCSRGraph.numChunks(length)];
+    for(int i = 0; i < chunks.length; i++){
+      long chunkLength = Math.min(length - ((long) i << OffHeapCSRGraph.CHUNK_SHIFT), 1L << OffHeapCSRGraph.CHUNK_SHIFT);
+      chunks[i] = channel.map(MapMode.READ_ONLY, start + 8L * ((long) i << OffHeapCSRGraph.CHUNK_SHIFT), 8L * chunkLength)
+          .order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+    return chunks;
+  }
+
+  private static IntBuffer[] mapInts(FileChannel channel, long start, long length) throws IOException{
+    IntBuffer[] chunks = new IntBuffer[OffHeapCSRGraph.numChunks(length)];
+    for(int i = 0; i < chunks.length; i++){
+      long chunkLength = Math.min(length - ((long) i << OffHeapCSRGraph.CHUNK_SHIFT), 1L << OffHeapCSRGraph.CHUNK_SHIFT);
+      chunks[i] = channel.map(MapMode.READ_ONLY, start + 4L * ((long) i << OffHeapCSRGraph.CHUNK_SHIFT), 4L * chunkLength)
+          .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+    return chunks;
+  }
+
+}
@@ -0,0 +1,72 @@
+package ads.neeraj2608.types.common;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free union-find structure over the elements [0, n) that can be used
+ * from several threads at once. Roots are always linked under the root with
+ * the smaller index, which rules out cycles without needing a lock; the link
+ * itself is a compare-and-set that fails and is retried if another thread
+ * changed the root in the meantime. find uses path halving, also through
+ * compare-and-set.
+ */
+public class ConcurrentUnionFind{
+
+  private AtomicIntegerArray parent;
+
+  public ConcurrentUnionFind(int numElements){
+    parent = new AtomicIntegerArray(numElements);
+    for(int i = 0; i < numElements; i++){
+      parent.set(i, i);
+    }
+  }
+
+  public int find(int element){
+    int parentOfElement;
+    while((parentOfElement = parent.get(element)) != element){
+      int grandparent = parent.get(parentOfElement);
+      if(grandparent != parentOfElement)
+        parent.compareAndSet(element, parentOfElement, grandparent);
+      element = grandparent;
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing two elements.
+   *
+   * @return true if this call merged two different sets, false if the
+   *         elements were already in the same set
+   */
+  public boolean union(int element1, int element2){
+    while(true){
+      int root1 = find(element1);
+      int root2 = find(element2);
+      if(root1 == root2)
+        return false;
+      if(root1 > root2){
+        int temp = root1;
+        root1 = root2;
+        root2 = temp;
+      }
+      if(parent.compareAndSet(root2, root2, root1))
+        return true;
+    }
+  }
+
+  public boolean connected(int element1, int element2){
+    while(true){
+      int root1 = find(element1);
+      int root2 = find(element2);
+      if(root1 == root2)
+        return true;
+      if(parent.get(root1) == root1) // root1 is still a root, so the two really are in different sets
+        return false;
+    }
+  }
+
+  public int getNumElements(){
+    return parent.length();
+  }
+
+}
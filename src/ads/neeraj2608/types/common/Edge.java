@@ -9,13 +9,16 @@ package ads.neeraj2608.types.common;
  * <li> <b>cost</b> the cost of the edge (in F-heap terminology, the "key")
  * <li> <b>alreadyInMST</b> a boolean flag that indicates whether this edge is already in the MST
  * </ul>
+ * Edges are immutable, so the edges of a graph can be shared by MST runs on
+ * several threads. Generators keep their own record of which nodes are in the
+ * MST; the flag only describes edges a generator creates itself.
  */
 public class Edge{
 
-  private int start;
-  private int finish;
-  private int cost;
-  private boolean alreadyInMST;
+  private final int start;
+  private final int finish;
+  private final int cost;
+  private final boolean alreadyInMST;
   
   public Edge(int start, int finish, int cost, boolean eligible){
     super();
@@ -29,32 +32,16 @@ public class Edge{
     return start;
   }
   
-  public void setStart(int start){
-    this.start = start;
-  }
-  
   public int getFinish(){
     return finish;
   }
   
-  public void setFinish(int finish){
-    this.finish = finish;
-  }
-  
   public int getCost(){
     return cost;
   }
   
-  public void setCost(int cost){
-    this.cost = cost;
-  }
-  
   public boolean isAlreadyInMST(){
     return alreadyInMST;
   }
   
-  public void setAlreadyInMST(boolean alreadyInMST){
-    this.alreadyInMST = alreadyInMST;
-  }
-  
 }
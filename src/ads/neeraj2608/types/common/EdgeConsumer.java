@@ -0,0 +1,11 @@
+package ads.neeraj2608.types.common;
+
+import java.io.IOException;
+
+/**
+ * Receives undirected edges one at a time, e.g. from a graph file being
+ * streamed by {@link TextGraphParser}
+ */
+public interface EdgeConsumer{
+  public void addEdge(int start, int finish, int cost) throws IOException;
+}
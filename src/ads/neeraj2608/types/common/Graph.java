@@ -1,10 +1,15 @@
 package ads.neeraj2608.types.common;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * This class represents a graph. Connectivity is stored as an adjacency list.
+ * The generators only read the graph, and edges and adjacency list nodes are
+ * immutable; {@link #asReadOnly()} also makes the lists themselves read-only,
+ * so one loaded graph can be shared by MST runs on several threads.
  */
 public class Graph{
   
@@ -29,12 +34,33 @@ public class Graph{
     this.numVertices = numVertices;
     this.numEdges = (int) (density * numVertices * (numVertices - 1) / 2);
     
-    adjList = new LinkedList<List<AdjListNode>>();
+    adjList = new ArrayList<List<AdjListNode>>(numVertices); // random access: adjList.get(v) is called in every generator's inner loop
     for(int i=0;i<numVertices;i++){
       adjList.add(i, new LinkedList<AdjListNode>());
     }
   }
   
+  private Graph(int numVertices, int numEdges, List<List<AdjListNode>> adjList){
+    this.numVertices = numVertices;
+    this.numEdges = numEdges;
+    this.adjList = adjList;
+  }
+
+  /**
+   * Creates a read-only view of this graph. The view shares the adjacency
+   * lists with this graph instead of copying them; trying to change them
+   * through the view throws an UnsupportedOperationException.
+   *
+   * @return the read-only view
+   */
+  public Graph asReadOnly(){
+    List<List<AdjListNode>> readOnlyAdjList = new ArrayList<List<AdjListNode>>(numVertices);
+    for(List<AdjListNode> adjacentNodes: adjList){
+      readOnlyAdjList.add(Collections.unmodifiableList(adjacentNodes));
+    }
+    return new Graph(numVertices, numEdges, Collections.unmodifiableList(readOnlyAdjList));
+  }
+
   /**
    * Picks a random node in the graph
    * 
@@ -55,9 +81,5 @@ public class Graph{
   public int getNumEdges(){
     return numEdges;
   }
-
-  public void setAdjList(List<List<AdjListNode>> adjList){
-    this.adjList = adjList;
-  }
   
 }
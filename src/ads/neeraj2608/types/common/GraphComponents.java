@@ -0,0 +1,147 @@
+package ads.neeraj2608.types.common;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connected components of a graph. Every vertex is labeled with the number of
+ * its component; components are numbered from 0 in order of their lowest
+ * vertex.
+ * <p>
+ * The components are found with an iterative depth-first search on an
+ * explicit int stack, so long paths cannot overflow the call stack, and the
+ * visited vertices are kept in a long[] bitset, which stays in cache far
+ * longer than a boolean or int array when the search jumps around a large
+ * graph. Nothing is boxed.
+ * </p>
+ */
+public class GraphComponents{
+
+  private int[] labels;     // component of every vertex
+
+  private int[] sizes;      // number of vertices in every component
+
+  private GraphComponents(int[] labels, int[] sizes){
+    this.labels = labels;
+    this.sizes = sizes;
+  }
+
+  /**
+   * Pushes the unvisited neighbors of a vertex onto the search stack, marking
+   * them visited. Each graph form supplies its own, so the search reads the
+   * graph in place.
+   */
+  private interface NeighborPusher{
+    int pushUnvisited(int vertex, long[] visited, int[] stack, int top);
+  }
+
+  /**
+   * Finds the connected components of a graph in CSR form
+   */
+  public static GraphComponents of(final CSRAdjacency graph){
+    return search(graph.getNumVertices(), (vertex, visited, stack, top) -> {
+      long endArc = graph.getEndArc(vertex);
+      for(long arc = graph.getFirstArc(vertex); arc < endArc; arc++){
+        int target = graph.getTarget(arc);
+        if(!isSet(visited, target)){
+          set(visited, target);
+          stack[top++] = target;
+        }
+      }
+      return top;
+    });
+  }
+
+  /**
+   * Finds the connected components of a graph in adjacency list form,
+   * walking its lists directly rather than copying it
+   */
+  public static GraphComponents of(Graph graph){
+    final List<List<AdjListNode>> adjList = graph.getAdjList();
+    return search(graph.getNumVertices(), (vertex, visited, stack, top) -> {
+      for(AdjListNode node: adjList.get(vertex)){
+        int target = node.getTargetNode();
+        if(!isSet(visited, target)){
+          set(visited, target);
+          stack[top++] = target;
+        }
+      }
+      return top;
+    });
+  }
+
+  private static GraphComponents search(int numVertices, NeighborPusher neighbors){
+    long[] visited = new long[(numVertices + 63) >>> 6];
+    int[] labels = new int[numVertices];
+    int[] stack = new int[numVertices]; // every vertex is pushed at most once, when it is first visited
+    int[] sizes = new int[Math.min(numVertices, 16)];
+    int numComponents = 0;
+
+    for(int root = 0; root < numVertices; root++){
+      if(isSet(visited, root))
+        continue;
+      if(numComponents == sizes.length)
+        sizes = Arrays.copyOf(sizes, sizes.length * 2);
+      int size = 0;
+      int top = 0;
+      set(visited, root);
+      stack[top++] = root;
+      while(top > 0){
+        int vertex = stack[--top];
+        labels[vertex] = numComponents;
+        size++;
+        top = neighbors.pushUnvisited(vertex, visited, stack, top);
+      }
+      sizes[numComponents++] = size;
+    }
+
+    return new GraphComponents(labels, Arrays.copyOf(sizes, numComponents));
+  }
+
+  private static boolean isSet(long[] bits, int index){
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  private static void set(long[] bits, int index){
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  public int getNumComponents(){
+    return sizes.length;
+  }
+
+  /**
+   * @return true if the graph has exactly one component (a graph without
+   *         vertices has none and is not connected)
+   */
+  public boolean isConnected(){
+    return sizes.length == 1;
+  }
+
+  /**
+   * @return the number of the component the vertex is in
+   */
+  public int getComponent(int vertex){
+    return labels[vertex];
+  }
+
+  /**
+   * @return the number of vertices in a component
+   */
+  public int getSize(int component){
+    return sizes[component];
+  }
+
+  /**
+   * @return the number of vertices in the largest component, or 0 if the
+   *         graph has no vertices
+   */
+  public int getLargestSize(){
+    int largest = 0;
+    for(int size: sizes){
+      largest = Math.max(largest, size);
+    }
+    return largest;
+  }
+
+}
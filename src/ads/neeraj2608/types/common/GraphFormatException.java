@@ -0,0 +1,51 @@
+package ads.neeraj2608.types.common;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a graph file is malformed. Carries the position of the problem
+ * in the file.
+ */
+public class GraphFormatException extends IOException{
+
+  private static final long serialVersionUID = 1L;
+
+  private long              line;
+
+  private long              column;
+
+  private String            problem;
+
+  /**
+   * @param line
+   *          line of the problem, starting at 1
+   * @param column
+   *          column of the problem in bytes, starting at 1
+   * @param message
+   *          what is wrong
+   */
+  public GraphFormatException(long line, long column, String message){
+    super("Error: line " + line + ", column " + column + ": " + message);
+    this.line = line;
+    this.column = column;
+    this.problem = message;
+  }
+
+  /**
+   * @return the same problem, moved down the file by the given number of lines
+   */
+  GraphFormatException shiftLines(long lines){
+    GraphFormatException shifted = new GraphFormatException(line + lines, column, problem);
+    shifted.setStackTrace(getStackTrace());
+    return shifted;
+  }
+
+  public long getLine(){
+    return line;
+  }
+
+  public long getColumn(){
+    return column;
+  }
+
+}
@@ -0,0 +1,56 @@
+package ads.neeraj2608.types.common;
+
+/**
+ * A min priority queue whose elements are graph vertices, identified by their
+ * index in the graph. Every vertex can be in the queue at most once. This is
+ * the only thing {@link ads.neeraj2608.mst.common.PrimMSTGenerator} needs from
+ * a heap, so any implementation of this interface can be used to run Prim's
+ * algorithm.
+ */
+public interface IndexedMinPriorityQueue{
+
+  /**
+   * Inserts a vertex with the specified key
+   *
+   * @param vertex
+   *          index of the vertex to insert; must not be in the queue already
+   * @param key
+   *          key of the vertex
+   */
+  public void insert(int vertex, int key);
+
+  /**
+   * Decreases the key of a vertex in the queue. Does nothing if the new key is
+   * not smaller than the current key.
+   *
+   * @param vertex
+   *          index of a vertex in the queue
+   * @param newKey
+   *          new key value
+   */
+  public void decreaseKey(int vertex, int newKey);
+
+  /**
+   * Deletes or extracts the vertex with the minimum key.
+   *
+   * @return the index of the deleted vertex
+   */
+  public int deleteMin();
+
+  public boolean isEmpty();
+
+  /**
+   * @param vertex
+   *          index of a vertex
+   * @return true if the vertex has been inserted and not yet deleted
+   */
+  public boolean contains(int vertex);
+
+  /**
+   * @param vertex
+   *          index of a vertex that has been inserted
+   * @return the current key of the vertex, or the key it had when it was
+   *         deleted if it is no longer in the queue
+   */
+  public int keyOf(int vertex);
+}
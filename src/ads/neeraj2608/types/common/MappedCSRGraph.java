@@ -0,0 +1,22 @@
+package ads.neeraj2608.types.common;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Graph in CSR form that is served straight out of a memory-mapped binary
+ * graph file (see {@link CSRGraphFile}). Nothing is copied onto the Java heap:
+ * the operating system pages the arrays in as the MST generators touch them,
+ * so opening even a very large graph is close to instant.
+ * <p>
+ * A single mapping can cover at most 2 GB, so every array is mapped in chunks
+ * of 2^27 entries, laid out as in {@link OffHeapCSRGraph}.
+ * </p>
+ */
+public class MappedCSRGraph extends OffHeapCSRGraph{
+
+  MappedCSRGraph(int numVertices, long numArcs, LongBuffer[] offsets, IntBuffer[] targets, IntBuffer[] weights){
+    super(numVertices, numArcs, offsets, targets, weights);
+  }
+
+}
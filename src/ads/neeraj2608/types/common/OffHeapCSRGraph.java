@@ -0,0 +1,269 @@
+package ads.neeraj2608.types.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Graph in CSR form whose arrays live outside the Java heap, in direct
+ * buffers. Arc numbers and offsets are 64 bits wide, so unlike
+ * {@link CSRGraph} the graph is not limited to 2^31 arcs, and the arrays add
+ * nothing to the heap the garbage collector has to scan or copy.
+ * <p>
+ * A buffer holds at most 2^31 bytes, so every array is split into chunks of
+ * 2^27 entries. Direct memory is limited by -XX:MaxDirectMemorySize, which
+ * defaults to the maximum heap size.
+ * </p>
+ */
+public class OffHeapCSRGraph implements CSRAdjacency{
+
+  static final int     CHUNK_SHIFT = 27;
+
+  static final int     CHUNK_MASK  = (1 << CHUNK_SHIFT) - 1;
+
+  private int          numVertices;
+
+  private long         numArcs;
+
+  private LongBuffer[] offsets;    // numVertices + 1 entries, in chunks
+
+  private IntBuffer[]  targets;    // numArcs entries, in chunks
+
+  private IntBuffer[]  weights;    // numArcs entries, in chunks
+
+  OffHeapCSRGraph(int numVertices, long numArcs, LongBuffer[] offsets, IntBuffer[] targets, IntBuffer[] weights){
+    this.numVertices = numVertices;
+    this.numArcs = numArcs;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+  }
+
+  /**
+   * Streams a text graph file (see {@link TextGraphParser}) into an off-heap
+   * graph. Neither the edges nor the graph are ever held on the Java heap.
+   *
+   * @return the graph
+   * @throws GraphFormatException
+   *           if the file is malformed
+   * @throws IOException
+   *           if the file can't be read
+   */
+  public static OffHeapCSRGraph load(File file) throws IOException{
+    try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+      TextGraphParser parser = new TextGraphParser(channel);
+      parser.readHeader();
+      Builder builder = new Builder((int) parser.getNumVertices());
+      parser.readEdges(builder);
+      return builder.build();
+    }
+  }
+
+  @Override
+  public int selectARandomNode(){
+    return (int) (Math.random() * numVertices);
+  }
+
+  @Override
+  public int getNumVertices(){
+    return numVertices;
+  }
+
+  @Override
+  public long getNumArcs(){
+    return numArcs;
+  }
+
+  /**
+   * @return the number of undirected edges, i.e. half the number of arcs
+   */
+  public long getNumEdges(){
+    return numArcs / 2;
+  }
+
+  @Override
+  public long getFirstArc(int vertex){
+    return offsets[vertex >>> CHUNK_SHIFT].get(vertex & CHUNK_MASK);
+  }
+
+  @Override
+  public long getEndArc(int vertex){
+    return getFirstArc(vertex + 1);
+  }
+
+  @Override
+  public int getTarget(long arc){
+    return targets[(int) (arc >>> CHUNK_SHIFT)].get((int) arc & CHUNK_MASK);
+  }
+
+  @Override
+  public int getWeight(long arc){
+    return weights[(int) (arc >>> CHUNK_SHIFT)].get((int) arc & CHUNK_MASK);
+  }
+
+  static int numChunks(long length){
+    return (int) ((length + CHUNK_MASK) >>> CHUNK_SHIFT);
+  }
+
+  private static LongBuffer[] allocateLongs(long length){
+    LongBuffer[] chunks = new LongBuffer[numChunks(length)];
+    for(int i = 0; i < chunks.length; i++){
+      long chunkLength = Math.min(length - ((long) i << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+      chunks[i] = ByteBuffer.allocateDirect((int) (8 * chunkLength)).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+    return chunks;
+  }
+
+  private static IntBuffer[] allocateInts(long length){
+    IntBuffer[] chunks = new IntBuffer[numChunks(length)];
+    for(int i = 0; i < chunks.length; i++){
+      long chunkLength = Math.min(length - ((long) i << CHUNK_SHIFT), 1L << CHUNK_SHIFT);
+      chunks[i] = ByteBuffer.allocateDirect((int) (4 * chunkLength)).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+    return chunks;
+  }
+
+  /**
+   * Collects undirected edges off the heap and then builds an
+   * {@link OffHeapCSRGraph} from them. Same as {@link CSRGraph.Builder}, but
+   * the number of edges is only limited by the available direct memory.
+   */
+  public static class Builder implements EdgeConsumer{
+
+    private static final int EDGE_CHUNK_SHIFT = 20; // edges are collected in chunks of 2^20
+
+    private static final int EDGE_CHUNK_MASK  = (1 << EDGE_CHUNK_SHIFT) - 1;
+
+    private int              numVertices;
+
+    private long             numEdges;
+
+    private List<IntBuffer>  starts           = new ArrayList<IntBuffer>();
+
+    private List<IntBuffer>  finishes         = new ArrayList<IntBuffer>();
+
+    private List<IntBuffer>  costs            = new ArrayList<IntBuffer>();
+
+    public Builder(int numVertices){
+      if(numVertices < 0)
+        throw new IllegalArgumentException("Error: negative number of vertices " + numVertices);
+      this.numVertices = numVertices;
+    }
+
+    /**
+     * Adds an undirected edge to the graph being built
+     */
+    @Override
+    public void addEdge(int start, int finish, int cost){
+      checkVertex(start);
+      checkVertex(finish);
+      int index = (int) numEdges & EDGE_CHUNK_MASK;
+      if(index == 0){
+        starts.add(allocateEdgeChunk());
+        finishes.add(allocateEdgeChunk());
+        costs.add(allocateEdgeChunk());
+      }
+      int chunk = (int) (numEdges >>> EDGE_CHUNK_SHIFT);
+      starts.get(chunk).put(index, start);
+      finishes.get(chunk).put(index, finish);
+      costs.get(chunk).put(index, cost);
+      numEdges++;
+    }
+
+    public int getNumVertices(){
+      return numVertices;
+    }
+
+    public long getNumEdges(){
+      return numEdges;
+    }
+
+    /**
+     * Creates the off-heap graph. Each edge is stored as two arcs; the arcs of
+     * every vertex are in the order their edges were added, as in
+     * {@link CSRGraph.Builder#build()}.
+     *
+     * @return the built graph
+     */
+    public OffHeapCSRGraph build(){
+      long numArcs = 2 * numEdges;
+      LongBuffer[] offsets = allocateLongs((long) numVertices + 1);
+      IntBuffer[] targets = allocateInts(numArcs);
+      IntBuffer[] weights = allocateInts(numArcs);
+
+      // offsets[v + 1] counts the arcs of v, then is turned into the end of v's arcs
+      for(long i = 0; i < numEdges; i++){
+        increment(offsets, getEdge(starts, i) + 1L, 1);
+        increment(offsets, getEdge(finishes, i) + 1L, 1);
+      }
+      long sum = 0;
+      for(long v = 1; v <= numVertices; v++){
+        sum += get(offsets, v);
+        set(offsets, v, sum);
+      }
+
+      // filled from the back of every vertex's range, going through the edges
+      // backwards; afterwards offsets[v + 1] is where v's arcs begin
+      for(long i = numEdges - 1; i >= 0; i--){
+        int start = getEdge(starts, i);
+        int finish = getEdge(finishes, i);
+        int cost = getEdge(costs, i);
+        long arc = increment(offsets, start + 1L, -1);
+        set(targets, arc, finish);
+        set(weights, arc, cost);
+        arc = increment(offsets, finish + 1L, -1);
+        set(targets, arc, start);
+        set(weights, arc, cost);
+      }
+      for(long v = 0; v < numVertices; v++){
+        set(offsets, v, get(offsets, v + 1));
+      }
+      set(offsets, numVertices, numArcs);
+
+      return new OffHeapCSRGraph(numVertices, numArcs, offsets, targets, weights);
+    }
+
+    private void checkVertex(int vertex){
+      if(vertex < 0 || vertex >= numVertices)
+        throw new IllegalArgumentException("Error: vertex " + vertex + " is not in [0, " + numVertices + ")");
+    }
+
+    private static IntBuffer allocateEdgeChunk(){
+      return ByteBuffer.allocateDirect(4 << EDGE_CHUNK_SHIFT).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static int getEdge(List<IntBuffer> chunks, long index){
+      return chunks.get((int) (index >>> EDGE_CHUNK_SHIFT)).get((int) index & EDGE_CHUNK_MASK);
+    }
+
+    private static long get(LongBuffer[] chunks, long index){
+      return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK);
+    }
+
+    private static void set(LongBuffer[] chunks, long index, long value){
+      chunks[(int) (index >>> CHUNK_SHIFT)].put((int) index & CHUNK_MASK, value);
+    }
+
+    /**
+     * @return the entry after adding delta to it
+     */
+    private static long increment(LongBuffer[] chunks, long index, long delta){
+      LongBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)];
+      long value = chunk.get((int) index & CHUNK_MASK) + delta;
+      chunk.put((int) index & CHUNK_MASK, value);
+      return value;
+    }
+
+    private static void set(IntBuffer[] chunks, long index, int value){
+      chunks[(int) (index >>> CHUNK_SHIFT)].put((int) index & CHUNK_MASK, value);
+    }
+  }
+
+}
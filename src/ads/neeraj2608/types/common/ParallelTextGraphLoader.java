@@ -0,0 +1,184 @@
+package ads.neeraj2608.types.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Loads a text graph file (see {@link TextGraphParser}) on several threads.
+ * After the header line has been read, the rest of the file is split into
+ * byte ranges whose ends are moved forward to the next line end, so that every
+ * edge line falls into exactly one range. The ranges are parsed concurrently
+ * into one {@link CSRGraph.Builder} each, and the builders are merged with a
+ * single counting sort pass by vertex. The resulting graph is the same as the
+ * one {@link TextGraphParser#parse(File)} returns.
+ * <p>
+ * Errors are reported with their line number in the whole file. If several
+ * ranges are malformed, the error that comes first in the file is reported.
+ * The header's edge count is not trusted to size the builders, which are
+ * sized from their ranges instead; it is checked once all ranges are parsed.
+ * </p>
+ */
+public class ParallelTextGraphLoader{
+
+  private static final long MIN_CHUNK_SIZE   = 1 << 20; // smaller files are split into fewer ranges
+
+  private static final int  CHUNKS_PER_THREAD = 4;       // evens out ranges that take longer than others
+
+  private static final int  SCAN_BUFFER_SIZE  = 1 << 12;
+
+  /**
+   * Loads a text graph file using the common fork/join pool
+   *
+   * @see #load(File, ForkJoinPool)
+   */
+  public static CSRGraph load(File file) throws IOException{
+    return load(file, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Loads a text graph file
+   *
+   * @param pool
+   *          pool to parse the ranges of the file on
+   * @return the graph in CSR form
+   * @throws GraphFormatException
+   *           if the file is malformed
+   * @throws IOException
+   *           if the file can't be read
+   */
+  public static CSRGraph load(File file, ForkJoinPool pool) throws IOException{
+    try(final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+      long size = channel.size();
+      TextGraphParser header = new TextGraphParser(channel, 0, size);
+      header.readHeader();
+      final int numVertices = (int) header.numVertices;
+      final long numEdges = header.numEdges;
+      final long dataStart = header.getOffset();
+      long dataLines = header.getLine() - 1; // lines before the first range
+
+      int numChunks = (int) Math.max(1, Math.min((size - dataStart) / MIN_CHUNK_SIZE, (long) pool.getParallelism() * CHUNKS_PER_THREAD));
+      long[] boundaries = new long[numChunks + 1];
+      boundaries[0] = dataStart;
+      boundaries[numChunks] = size;
+      for(int i = 1; i < numChunks; i++){
+        long boundary = dataStart + (size - dataStart) * i / numChunks;
+        boundaries[i] = Math.max(boundaries[i - 1], nextLineStart(channel, boundary, size));
+      }
+
+      final CSRGraph.Builder[] builders = new CSRGraph.Builder[numChunks];
+      final long[] chunkLines = new long[numChunks]; // line ends in every range
+      final IOException[] errors = new IOException[numChunks];
+      List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(numChunks);
+      for(int i = 0; i < numChunks; i++){
+        final int chunk = i;
+        final long start = boundaries[i];
+        final long end = boundaries[i + 1];
+        tasks.add(new Callable<Void>(){
+          @Override
+          public Void call(){
+            TextGraphParser parser = new TextGraphParser(channel, start, end);
+            parser.numVertices = numVertices;
+            builders[chunk] = new CSRGraph.Builder(numVertices, expectedNumEdges(start, end, dataStart, size, numEdges));
+            try{
+              parser.readEdges(builders[chunk]);
+            } catch(IOException e){ // kept, so that the first error in the file can be reported
+              errors[chunk] = e;
+            }
+            chunkLines[chunk] = parser.getLine() - 1;
+            return null;
+          }
+        });
+      }
+
+      waitForAll(pool.invokeAll(tasks));
+      for(int i = 0; i < numChunks; i++){
+        if(errors[i] instanceof GraphFormatException)
+          throw ((GraphFormatException) errors[i]).shiftLines(dataLines);
+        if(errors[i] != null)
+          throw errors[i];
+        dataLines += chunkLines[i];
+      }
+
+      List<CSRGraph.Builder> builderList = new ArrayList<CSRGraph.Builder>(numChunks);
+      long numEdgesRead = 0;
+      for(CSRGraph.Builder builder: builders){
+        builderList.add(builder);
+        numEdgesRead += builder.getNumEdges();
+      }
+      if(numEdgesRead != numEdges){ // parsed again on one thread, which reports where the edge lines stop matching the header
+        TextGraphParser parser = new TextGraphParser(channel.position(0));
+        parser.readHeader();
+        parser.readEdges((start, finish, cost) -> {});
+      }
+      return CSRGraph.Builder.build(builderList);
+    }
+  }
+
+  /**
+   * @return the number of edges to reserve space for in the builder of the
+   *         range [start, end): the range's share of the header's edge count,
+   *         but never more than one edge per
+   *         {@value TextGraphParser#MIN_EDGE_LINE_LENGTH} bytes of the range,
+   *         so a header that lies can't make every range allocate a huge
+   *         builder
+   */
+  private static int expectedNumEdges(long start, long end, long dataStart, long size, long numEdges){
+    long maxNumEdges = (end - start) / TextGraphParser.MIN_EDGE_LINE_LENGTH;
+    double share = (double) (end - start) / Math.max(size - dataStart, 1);
+    return (int) Math.min(Math.min((long) Math.ceil(numEdges * share), maxNumEdges), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Waits for every task. The tasks keep their IOExceptions for the caller,
+   * so anything else a task throws (e.g. an OutOfMemoryError while a builder
+   * grows) is rethrown here instead of leaving a range unparsed.
+   */
+  private static void waitForAll(List<Future<Void>> results){
+    try{
+      for(Future<Void> result: results){
+        result.get();
+      }
+    } catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Error: interrupted while waiting for the ranges to be parsed", e);
+    } catch(ExecutionException e){
+      if(e.getCause() instanceof RuntimeException)
+        throw (RuntimeException) e.getCause();
+      if(e.getCause() instanceof Error)
+        throw (Error) e.getCause();
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * @return the position just past the first line end at or after position -
+   *         1, or size if there is none; i.e. position itself if it already
+   *         starts a line
+   */
+  private static long nextLineStart(FileChannel channel, long position, long size) throws IOException{
+    ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+    long filePosition = position - 1;
+    while(filePosition < size){
+      buffer.clear();
+      int read = channel.read(buffer, filePosition);
+      if(read < 0)
+        break;
+      for(int i = 0; i < read; i++){
+        if(buffer.get(i) == '\n')
+          return filePosition + i + 1;
+      }
+      filePosition += read;
+    }
+    return size;
+  }
+
+}
@@ -0,0 +1,331 @@
+package ads.neeraj2608.types.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parser for the text graph file format: a first line with the number of
+ * vertices n and the number of edges m, then one line per undirected edge
+ * with its two vertices and its cost, all separated by spaces or tabs. Blank
+ * lines are skipped and both \n and \r\n line ends are accepted. The number of
+ * edge lines must match m, but m is not trusted to size anything: the builder
+ * reserves at most one edge per {@value #MIN_EDGE_LINE_LENGTH} bytes of the
+ * file and grows past that if it has to.
+ * <p>
+ * The input is read in large blocks straight from a channel and the integers
+ * are parsed byte by byte, so apart from the block buffer and the
+ * {@link CSRGraph.Builder} nothing is allocated per line. Malformed input is
+ * reported as a {@link GraphFormatException} with the line and column of the
+ * problem.
+ * </p>
+ */
+public class TextGraphParser{
+
+  private static final int    BUFFER_SIZE = 1 << 16;
+
+  private static final int    EOF         = -1;
+
+  static final int            MIN_EDGE_LINE_LENGTH = 6;             // "u v w\n"
+
+  private ReadableByteChannel channel;
+
+  private FileChannel         fileChannel;                          // set instead of channel when parsing a byte range of a file
+
+  private long                filePosition;                         // next byte of the range to read into the buffer
+
+  private long                end         = Long.MAX_VALUE;         // end of the range
+
+  private byte[]              buffer      = new byte[BUFFER_SIZE];
+
+  private ByteBuffer          byteBuffer  = ByteBuffer.wrap(buffer);
+
+  private int                 position;                             // next byte of the buffer to read
+
+  private int                 limit;                                // one past the last valid byte of the buffer
+
+  private long                line        = 1;
+
+  private long                column      = 1;                      // column of the byte at position
+
+  long                        numVertices;                          // from the header
+
+  long                        numEdges;                             // from the header
+
+  private long                numEdgesRead;
+
+  private boolean             checkNumEdges = true;                 // false for a range, which holds only part of the edges
+
+  public TextGraphParser(ReadableByteChannel channel){
+    this.channel = channel;
+  }
+
+  /**
+   * Parser for the byte range [start, end) of a file. Lines and columns are
+   * counted from the start of the range. Reads with positional reads, so
+   * several parsers can share the same channel from different threads.
+   */
+  TextGraphParser(FileChannel fileChannel, long start, long end){
+    this.fileChannel = fileChannel;
+    this.filePosition = start;
+    this.end = end;
+    this.checkNumEdges = false;
+  }
+
+  /**
+   * Parses a text graph file
+   *
+   * @return the graph in CSR form
+   * @throws GraphFormatException
+   *           if the file is malformed
+   * @throws IOException
+   *           if the file can't be read
+   */
+  public static CSRGraph parse(File file) throws IOException{
+    try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+      return new TextGraphParser(channel).parse();
+    }
+  }
+
+  /**
+   * Parses the whole input of the channel
+   *
+   * @return the graph in CSR form
+   */
+  public CSRGraph parse() throws IOException{
+    readHeader();
+    CSRGraph.Builder builder = new CSRGraph.Builder((int) numVertices, expectedNumEdges());
+    readEdges(builder);
+    return builder.build();
+  }
+
+  /**
+   * @return the number of edges to reserve space for: the header's m, but no
+   *         more than the file has room for, or none if the size of the input
+   *         is not known
+   */
+  private int expectedNumEdges() throws IOException{
+    if(!(channel instanceof FileChannel))
+      return 0;
+    long maxNumEdges = ((FileChannel) channel).size() / MIN_EDGE_LINE_LENGTH;
+    return (int) Math.min(Math.min(numEdges, maxNumEdges), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Reads the first line with the number of vertices and edges. Call this
+   * before {@link #readEdges(EdgeConsumer)} to stream a graph file without
+   * building the graph.
+   */
+  public void readHeader() throws IOException{
+    if(!skipBlankLines())
+      throw new GraphFormatException(line, column, "expected the number of vertices and edges, found " + describe(EOF));
+    long headerLine = line;
+    long headerColumn = column;
+    numVertices = readInt("the number of vertices");
+    numEdges = readInt("the number of edges");
+    endOfLine();
+    if(numVertices < 0)
+      throw new GraphFormatException(headerLine, headerColumn, "negative number of vertices " + numVertices);
+    if(numEdges < 0)
+      throw new GraphFormatException(headerLine, headerColumn, "negative number of edges " + numEdges);
+  }
+
+  /**
+   * Reads edge lines until the end of the input, adding them to a builder
+   */
+  void readEdges(CSRGraph.Builder builder) throws IOException{
+    readEdges(builder::addEdge);
+  }
+
+  /**
+   * Reads edge lines until the end of the input, passing every edge to a
+   * consumer as soon as it has been read
+   *
+   * @throws GraphFormatException
+   *           if a line is malformed, or if there are more or fewer edge lines
+   *           than the header says
+   */
+  public void readEdges(EdgeConsumer consumer) throws IOException{
+    while(skipBlankLines()){
+      if(checkNumEdges && numEdgesRead == numEdges)
+        throw new GraphFormatException(line, column, "more than the " + numEdges + " edge lines the header announces");
+      int start = readVertex(numVertices);
+      int finish = readVertex(numVertices);
+      int cost = readInt("the edge cost");
+      endOfLine();
+      consumer.addEdge(start, finish, cost);
+      numEdgesRead++;
+    }
+    if(checkNumEdges && numEdgesRead < numEdges)
+      throw new GraphFormatException(line, column, "found " + numEdgesRead + " edge lines, but the header announces " + numEdges);
+  }
+
+  /**
+   * @return the number of vertices given in the header
+   */
+  public long getNumVertices(){
+    return numVertices;
+  }
+
+  /**
+   * @return the number of edges given in the header; {@link #readEdges} checks
+   *         the edge lines against it, but it is not trusted before that
+   */
+  public long getNumEdges(){
+    return numEdges;
+  }
+
+  /**
+   * @return the number of the line being read, starting at 1
+   */
+  long getLine(){
+    return line;
+  }
+
+  /**
+   * @return the position in the file of the next byte to parse (only for
+   *         parsers of a file range)
+   */
+  long getOffset(){
+    return filePosition - (limit - position);
+  }
+
+  private int readVertex(long numVertices) throws IOException{
+    skipSpaces();
+    long tokenLine = line;
+    long tokenColumn = column;
+    int vertex = readInt("a vertex");
+    if(vertex < 0 || vertex >= numVertices)
+      throw new GraphFormatException(tokenLine, tokenColumn, "vertex " + vertex + " is not in [0, " + numVertices + ")");
+    return vertex;
+  }
+
+  /**
+   * Reads an optionally signed decimal int, skipping spaces and tabs before it
+   *
+   * @param what
+   *          description of the number for the error message
+   */
+  private int readInt(String what) throws IOException{
+    skipSpaces();
+    long tokenColumn = column;
+    boolean negative = false;
+    int b = peek();
+    if(b == '-' || b == '+'){
+      negative = b == '-';
+      advance();
+      b = peek();
+    }
+    if(b < '0' || b > '9')
+      throw new GraphFormatException(line, tokenColumn, "expected " + what + ", found " + describe(b));
+
+    long value = 0;
+    long bound = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+    do{ // hot loop: runs over the digits in the buffer without going through peek and advance
+      int digitPosition = position;
+      while(digitPosition < limit && (b = buffer[digitPosition]) >= '0' && b <= '9'){
+        value = value * 10 + (b - '0');
+        if(value > bound)
+          throw new GraphFormatException(line, tokenColumn, what + " is out of the int range");
+        digitPosition++;
+      }
+      column += digitPosition - position;
+      position = digitPosition;
+    } while(position == limit && fill()); // the number may continue in the next block
+    b = peek();
+
+    if(b != EOF && !isWhitespace(b))
+      throw new GraphFormatException(line, column, "unexpected " + describe(b) + " after " + what);
+    return (int) (negative ? -value : value);
+  }
+
+  /**
+   * Consumes the rest of the current line, which may only hold whitespace
+   */
+  private void endOfLine() throws IOException{
+    skipSpaces();
+    int b = peek();
+    if(b == '\n')
+      advance();
+    else if(b != EOF)
+      throw new GraphFormatException(line, column, "expected the end of the line, found " + describe(b));
+  }
+
+  /**
+   * Skips whitespace including line ends
+   *
+   * @return false if the end of the input was reached
+   */
+  private boolean skipBlankLines() throws IOException{
+    int b;
+    while((b = peek()) != EOF && isWhitespace(b))
+      advance();
+    return b != EOF;
+  }
+
+  /**
+   * Skips whitespace other than line ends
+   */
+  private void skipSpaces() throws IOException{
+    int b;
+    while((b = peek()) == ' ' || b == '\t' || b == '\r')
+      advance();
+  }
+
+  private static boolean isWhitespace(int b){
+    return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+  }
+
+  /**
+   * @return the next byte without consuming it, as a value in [0, 255] so
+   *         that no byte reads as EOF, or EOF
+   */
+  private int peek() throws IOException{
+    if(position == limit && !fill())
+      return EOF;
+    return buffer[position] & 0xFF;
+  }
+
+  private void advance(){
+    if(buffer[position++] == '\n'){
+      line++;
+      column = 1;
+    }
+    else
+      column++;
+  }
+
+  private boolean fill() throws IOException{
+    byteBuffer.clear();
+    int read;
+    if(fileChannel != null){
+      if(filePosition >= end)
+        return false;
+      byteBuffer.limit((int) Math.min(BUFFER_SIZE, end - filePosition));
+      while((read = fileChannel.read(byteBuffer, filePosition)) == 0);
+      if(read > 0)
+        filePosition += read;
+    }
+    else
+      while((read = channel.read(byteBuffer)) == 0);
+    if(read < 0)
+      return false;
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  private static String describe(int b){
+    if(b == EOF)
+      return "the end of the file";
+    if(b == '\n' || b == '\r')
+      return "the end of the line";
+    if(b >= ' ' && b < 127)
+      return "'" + (char) b + "'";
+    return "byte 0x" + Integer.toHexString(b).toUpperCase();
+  }
+
+}
@@ -0,0 +1,86 @@
+package ads.neeraj2608.types.common;
+
+import java.util.Arrays;
+
+/**
+ * Array-based union-find (disjoint set) structure over the elements [0, n).
+ * Uses union by rank and path halving, so a sequence of operations runs in
+ * nearly linear time.
+ */
+public class UnionFind{
+
+  private int[]  parent;
+
+  private byte[] rank;   // upper bound on the height of each root's tree; never exceeds log2(n)
+
+  private int    numSets;
+
+  public UnionFind(int numElements){
+    parent = new int[numElements];
+    rank = new byte[numElements];
+    clear();
+  }
+
+  /**
+   * Puts every element back into a set of its own
+   */
+  public void clear(){
+    for(int i = 0; i < parent.length; i++){
+      parent[i] = i;
+    }
+    Arrays.fill(rank, (byte) 0);
+    numSets = parent.length;
+  }
+
+  /**
+   * Finds the representative of the set containing an element. Every node on
+   * the way up is pointed at its grandparent (path halving).
+   *
+   * @param element
+   *          element to look up
+   * @return the representative of its set
+   */
+  public int find(int element){
+    while(parent[element] != element){
+      parent[element] = parent[parent[element]];
+      element = parent[element];
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing two elements.
+   *
+   * @return true if the elements were in different sets, false otherwise
+   */
+  public boolean union(int element1, int element2){
+    int root1 = find(element1);
+    int root2 = find(element2);
+    if(root1 == root2)
+      return false;
+
+    if(rank[root1] < rank[root2])
+      parent[root1] = root2;
+    else if(rank[root1] > rank[root2])
+      parent[root2] = root1;
+    else{
+      parent[root2] = root1;
+      rank[root1]++;
+    }
+    numSets--;
+    return true;
+  }
+
+  public boolean connected(int element1, int element2){
+    return find(element1) == find(element2);
+  }
+
+  public int getNumSets(){
+    return numSets;
+  }
+
+  public int getNumElements(){
+    return parent.length;
+  }
+
+}
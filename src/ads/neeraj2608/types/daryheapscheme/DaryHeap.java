@@ -0,0 +1,153 @@
+package ads.neeraj2608.types.daryheapscheme;
+
+import java.util.Arrays;
+
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * This class represents an array-based indexed d-ary min heap. The heap is
+ * stored as an implicit tree in two arrays indexed by heap position (the vertex
+ * at each position and its key); a third array maps every vertex to its
+ * current position. The children of position i are at positions d*i + 1 to
+ * d*i + d.
+ * <p>
+ * Keeping the keys next to each other in heap order means that finding the
+ * smallest child during a sift down reads one contiguous run of d keys, which
+ * is why a 4-ary heap is usually faster than a binary one in practice.
+ * </p>
+ */
+public class DaryHeap implements IndexedMinPriorityQueue{
+
+  private static final int NOT_IN_HEAP = -1;
+
+  private int              arity;
+
+  private int[]            heap;      // heap[i] is the vertex at heap position i
+
+  private int[]            heapKeys;  // heapKeys[i] is the key of the vertex at heap position i
+
+  private int[]            position;  // position[v] is the heap position of vertex v, or NOT_IN_HEAP
+
+  private int[]            keys;      // keys[v] is the key of vertex v; kept after v is deleted
+
+  private int              size;
+
+  /**
+   * @param arity
+   *          number of children of every heap node (e.g. 2, 4 or 8)
+   * @param capacity
+   *          vertex indices must be in [0, capacity)
+   */
+  public DaryHeap(int arity, int capacity){
+    if(arity < 2)
+      throw new IllegalArgumentException("Error: arity must be at least 2, got " + arity);
+    this.arity = arity;
+    heap = new int[capacity];
+    heapKeys = new int[capacity];
+    position = new int[capacity];
+    keys = new int[capacity];
+    Arrays.fill(position, NOT_IN_HEAP);
+  }
+
+  @Override
+  public void insert(int vertex, int key){
+    if(position[vertex] != NOT_IN_HEAP)
+      throw new IllegalArgumentException("Error: vertex " + vertex + " is already in the heap");
+    keys[vertex] = key;
+    siftUp(size++, vertex, key);
+  }
+
+  @Override
+  public void decreaseKey(int vertex, int newKey){
+    int pos = position[vertex];
+    if(pos == NOT_IN_HEAP || newKey >= keys[vertex])
+      return;
+    keys[vertex] = newKey;
+    siftUp(pos, vertex, newKey);
+  }
+
+  @Override
+  public int deleteMin(){
+    if(size == 0)
+      throw new RuntimeException("Error: No elements in heap");
+
+    int minVertex = heap[0];
+    position[minVertex] = NOT_IN_HEAP;
+    size--;
+    if(size > 0)
+      siftDown(0, heap[size], heapKeys[size]);
+
+    return minVertex;
+  }
+
+  /**
+   * Moves the hole at position pos up until the vertex fits, then puts the
+   * vertex there.
+   */
+  private void siftUp(int pos, int vertex, int key){
+    while(pos > 0){
+      int parentPos = (pos - 1) / arity;
+      if(heapKeys[parentPos] <= key)
+        break;
+      place(pos, heap[parentPos], heapKeys[parentPos]);
+      pos = parentPos;
+    }
+    place(pos, vertex, key);
+  }
+
+  /**
+   * Moves the hole at position pos down until the vertex fits, then puts the
+   * vertex there.
+   */
+  private void siftDown(int pos, int vertex, int key){
+    while(true){
+      int firstChild = arity * pos + 1;
+      if(firstChild >= size)
+        break;
+      int lastChild = Math.min(firstChild + arity, size);
+      int minChild = firstChild;
+      int minKey = heapKeys[firstChild];
+      for(int child = firstChild + 1; child < lastChild; child++){
+        if(heapKeys[child] < minKey){
+          minKey = heapKeys[child];
+          minChild = child;
+        }
+      }
+      if(key <= minKey)
+        break;
+      place(pos, heap[minChild], minKey);
+      pos = minChild;
+    }
+    place(pos, vertex, key);
+  }
+
+  private void place(int pos, int vertex, int key){
+    heap[pos] = vertex;
+    heapKeys[pos] = key;
+    position[vertex] = pos;
+  }
+
+  @Override
+  public boolean isEmpty(){
+    return size == 0;
+  }
+
+  @Override
+  public boolean contains(int vertex){
+    return position[vertex] != NOT_IN_HEAP;
+  }
+
+  @Override
+  public int keyOf(int vertex){
+    return keys[vertex];
+  }
+
+  public int getArity(){
+    return arity;
+  }
+
+  public int getSize(){
+    return size;
+  }
+
+}
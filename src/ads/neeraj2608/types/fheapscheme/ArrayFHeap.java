@@ -0,0 +1,482 @@
+package ads.neeraj2608.types.fheapscheme;
+
+import java.util.Arrays;
+
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * Struct-of-arrays version of {@link FHeap}. Instead of one {@link FHeapNode}
+ * object per node, the fields of every node are kept in parallel primitive
+ * arrays and a node is addressed by its index (the order in which it was
+ * inserted, which for Prim is the index of the vertex in the graph). It
+ * supports the same F-heap operations with the same semantics:
+ * <ul>
+ * <li><b>insert</b> insert a node into the heap
+ * <li><b>decreaseKey</b> decrease the key or cost of a node
+ * <li><b>deleteMin</b> delete the node with the minimum key or cost
+ * </ul>
+ * <p>
+ * Since nodes are addressed by index, it also implements
+ * {@link IndexedMinPriorityQueue} directly. Nodes can then be inserted under
+ * any index, not just in order.
+ * </p>
+ * <p>
+ * Consolidation after a deleteMin visits every root once and links roots of
+ * equal degree through an array indexed by degree, so it runs in O(#roots +
+ * log n).
+ * </p>
+ * <p>
+ * With -Dads.neeraj2608.fheap.stats=true the heap counts its internal work;
+ * see {@link FHeapStats}.
+ * </p>
+ */
+public class ArrayFHeap implements IndexedMinPriorityQueue{
+
+  private static final int    NIL = -1;                                     // stands in for a null node reference
+
+  private static final double PHI = (1 + Math.sqrt(5)) / 2;
+
+  private int[]               cost;                                         // the key or cost of each node
+
+  private int[]               parent;
+
+  private int[]               child;
+
+  private int[]               left;
+
+  private int[]               right;
+
+  private int[]               degree;
+
+  private int[]               predecessor;                                  // the index of the node that we arrived at each node from
+
+  private long[]              marked;                                       // bitset; flag used for the cut (and cascade-cut) operations
+
+  private long[]              alreadyInMST;                                 // bitset; set once a node has been deleted from the heap
+
+  private long[]              inHeap;                                       // bitset; set from insert until deleteMin
+
+  private int[]               rootsOfDegree;                                // scratch array used for merging root nodes after a delete min operation
+
+  private int                 min = NIL;
+
+  private int                 size;                                         // number of nodes currently in the heap
+
+  private int                 numNodes;                                     // one past the highest index inserted so far; the index insert(key) uses next
+
+  private FHeapStats          stats = FHeapStats.ENABLED ? new FHeapStats() : null;
+
+  /**
+   * @param capacity
+   *          number of nodes to reserve space for. The heap grows if more
+   *          nodes are inserted.
+   */
+  public ArrayFHeap(int capacity){
+    capacity = Math.max(capacity, 1);
+    cost = new int[capacity];
+    parent = new int[capacity];
+    child = new int[capacity];
+    left = new int[capacity];
+    right = new int[capacity];
+    degree = new int[capacity];
+    predecessor = new int[capacity];
+    marked = new long[bitsetLength(capacity)];
+    alreadyInMST = new long[bitsetLength(capacity)];
+    inHeap = new long[bitsetLength(capacity)];
+    rootsOfDegree = new int[maxDegree(capacity) + 1];
+    Arrays.fill(rootsOfDegree, NIL);
+  }
+
+  /**
+   * Inserts a new node into the heap with the specified key
+   *
+   * @param key
+   *          key of the node to insert
+   * @return the index of the inserted node
+   */
+  public int insert(int key){
+    int node = numNodes;
+    insert(node, key);
+    return node;
+  }
+
+  /**
+   * Inserts a new node into the heap under the specified index
+   *
+   * @param node
+   *          index of the node to insert
+   * @param key
+   *          key of the node to insert
+   */
+  @Override
+  public void insert(int node, int key){
+    while(node >= cost.length)
+      grow();
+    if(getBit(inHeap, node))
+      throw new IllegalArgumentException("Error: node " + node + " is already in the heap");
+
+    if(FHeapStats.ENABLED)
+      stats.inserts++;
+
+    numNodes = Math.max(numNodes, node + 1);
+    setBit(inHeap, node);
+    clearBit(alreadyInMST, node);
+    clearBit(marked, node);
+    cost[node] = key;
+    parent[node] = NIL;
+    child[node] = NIL;
+    degree[node] = 0;
+    predecessor[node] = 0;
+    size++;
+
+    if(min == NIL){
+      left[node] = node;
+      right[node] = node;
+      min = node;
+    }
+    else{
+      spliceNodeToRight(min, node);
+      if(key < cost[min])
+        min = node;
+    }
+  }
+
+  /**
+   * Deletes or extracts the minimum node from the heap.
+   *
+   * @return the index of the minimum node in the heap when the method was
+   *         invoked
+   */
+  @Override
+  public int deleteMin(){
+    if(size == 0)
+      throw new RuntimeException("Error: No elements in heap");
+
+    if(FHeapStats.ENABLED)
+      stats.deleteMins++;
+
+    int nodeToDelete = min;
+
+    // move the children of the node we're about to delete into the root chain
+    int firstChild = child[nodeToDelete];
+    if(firstChild != NIL){
+      int currentNode = firstChild;
+      do{
+        parent[currentNode] = NIL;
+        clearBit(marked, currentNode);
+        currentNode = right[currentNode];
+      } while(currentNode != firstChild);
+
+      // splice the whole child chain to the right of the node to delete
+      int lastChild = left[firstChild];
+      int oldRight = right[nodeToDelete];
+      right[nodeToDelete] = firstChild;
+      left[firstChild] = nodeToDelete;
+      right[lastChild] = oldRight;
+      left[oldRight] = lastChild;
+      child[nodeToDelete] = NIL;
+    }
+
+    setBit(alreadyInMST, nodeToDelete);
+    clearBit(inHeap, nodeToDelete);
+    size--;
+
+    if(right[nodeToDelete] == nodeToDelete)
+      min = NIL;
+    else{
+      int startNode = right[nodeToDelete];
+      joinNeighbors(nodeToDelete);
+      consolidate(startNode);
+    }
+
+    return nodeToDelete;
+  }
+
+  /**
+   * Merges root list nodes of the same degree. Each root is visited exactly
+   * once; the new min node is picked from the surviving roots at the end.
+   *
+   * @param startNode
+   *          node in the root list to start the merge at
+   */
+  private void consolidate(int startNode){
+    int numRoots = 0;
+    int currentNode = startNode;
+    do{
+      numRoots++;
+      currentNode = right[currentNode];
+    } while(currentNode != startNode);
+
+    int maxDegreeSeen = 0;
+    int links = 0;
+    currentNode = startNode;
+    for(int i = 0; i < numRoots; i++){
+      int nextNode = right[currentNode]; // roots linked below are ones we've already passed, so nextNode stays in the root chain
+      int winningNode = currentNode;
+      int d = degree[winningNode];
+      while(rootsOfDegree[d] != NIL){
+        winningNode = union(winningNode, rootsOfDegree[d]);
+        rootsOfDegree[d] = NIL;
+        d++;
+        links++;
+      }
+      rootsOfDegree[d] = winningNode;
+      if(d > maxDegreeSeen)
+        maxDegreeSeen = d;
+      currentNode = nextNode;
+    }
+
+    if(FHeapStats.ENABLED)
+      stats.recordConsolidation(numRoots, links, maxDegreeSeen);
+
+    min = NIL;
+    for(int d = 0; d <= maxDegreeSeen; d++){
+      int root = rootsOfDegree[d];
+      if(root != NIL){
+        if(min == NIL || cost[root] < cost[min])
+          min = root;
+        rootsOfDegree[d] = NIL;
+      }
+    }
+  }
+
+  /**
+   * Takes two root nodes and makes the one with the greater cost a child of
+   * the other.
+   *
+   * @return the node that stays in the root list
+   */
+  private int union(int node1, int node2){
+    if(cost[node2] < cost[node1]){
+      int temp = node1;
+      node1 = node2;
+      node2 = temp;
+    }
+
+    joinNeighbors(node2);
+    parent[node2] = node1;
+    clearBit(marked, node2);
+    if(child[node1] == NIL){
+      child[node1] = node2;
+      left[node2] = node2;
+      right[node2] = node2;
+    }
+    else
+      spliceNodeToRight(child[node1], node2);
+    degree[node1]++;
+
+    return node1;
+  }
+
+  /**
+   * Decreases the key of the specified node to the specified value. Does
+   * nothing if the specified node is not in the heap (never inserted, or
+   * already in the MST being built) or if the new key is not smaller than the
+   * current one.
+   *
+   * @param node
+   *          index of the node to decrease the key of
+   * @param newKey
+   *          new key value
+   * @param predecessor
+   *          the node from which this key or cost applies
+   */
+  public void decreaseKey(int node, int newKey, int predecessor){
+    if(!getBit(inHeap, node)){
+      if(FHeapStats.ENABLED)
+        stats.decreaseKeysNotInHeap++;
+      return;
+    }
+
+    if(newKey >= cost[node]){
+      if(FHeapStats.ENABLED)
+        stats.decreaseKeysNotSmaller++;
+      return;
+    }
+
+    if(FHeapStats.ENABLED)
+      stats.decreaseKeys++;
+
+    cost[node] = newKey;
+    this.predecessor[node] = predecessor;
+
+    int parentNode = parent[node];
+    if(parentNode != NIL && newKey < cost[parentNode]){
+      if(FHeapStats.ENABLED)
+        stats.cuts++;
+      cut(node, parentNode);
+      cascadingCut(parentNode);
+    }
+
+    if(newKey < cost[min])
+      min = node;
+  }
+
+  /**
+   * Decreases the key of the specified node, keeping its predecessor.
+   *
+   * @see #decreaseKey(int, int, int)
+   */
+  @Override
+  public void decreaseKey(int node, int newKey){
+    decreaseKey(node, newKey, predecessor[node]);
+  }
+
+  /**
+   * Moves a node from its parent's child list into the root list.
+   */
+  private void cut(int node, int parentNode){
+    if(right[node] == node)
+      child[parentNode] = NIL;
+    else{
+      if(child[parentNode] == node)
+        child[parentNode] = right[node];
+      joinNeighbors(node);
+    }
+    degree[parentNode]--;
+
+    spliceNodeToRight(min, node);
+    parent[node] = NIL;
+    clearBit(marked, node);
+  }
+
+  /**
+   * Walks up from a node that just lost a child, cutting every marked
+   * ancestor and marking the first unmarked one. Iterative so that long
+   * chains of marked nodes don't blow the stack.
+   */
+  private void cascadingCut(int node){
+    int parentNode = parent[node];
+    while(parentNode != NIL){
+      if(!getBit(marked, node)){
+        setBit(marked, node);
+        return;
+      }
+      if(FHeapStats.ENABLED)
+        stats.cascadingCuts++;
+      cut(node, parentNode);
+      node = parentNode;
+      parentNode = parent[node];
+    }
+  }
+
+  /**
+   * Node1 <-> Node3 becomes Node1 <-> Node2 <-> Node3
+   */
+  private void spliceNodeToRight(int existingNode, int newNode){
+    right[newNode] = right[existingNode];
+    left[newNode] = existingNode;
+    left[right[existingNode]] = newNode;
+    right[existingNode] = newNode;
+  }
+
+  /**
+   * A <-> node <-> B becomes A <-> B. The pointers of the node itself are not
+   * changed.
+   */
+  private void joinNeighbors(int node){
+    right[left[node]] = right[node];
+    left[right[node]] = left[node];
+  }
+
+  private void grow(){
+    int capacity = cost.length + (cost.length >> 1) + 1;
+    cost = Arrays.copyOf(cost, capacity);
+    parent = Arrays.copyOf(parent, capacity);
+    child = Arrays.copyOf(child, capacity);
+    left = Arrays.copyOf(left, capacity);
+    right = Arrays.copyOf(right, capacity);
+    degree = Arrays.copyOf(degree, capacity);
+    predecessor = Arrays.copyOf(predecessor, capacity);
+    marked = Arrays.copyOf(marked, bitsetLength(capacity));
+    alreadyInMST = Arrays.copyOf(alreadyInMST, bitsetLength(capacity));
+    inHeap = Arrays.copyOf(inHeap, bitsetLength(capacity));
+    rootsOfDegree = new int[maxDegree(capacity) + 1];
+    Arrays.fill(rootsOfDegree, NIL);
+  }
+
+  /**
+   * The degree of any node in an F-heap with n nodes is at most log_phi(n).
+   */
+  private static int maxDegree(int capacity){
+    return (int) Math.floor(Math.log(capacity) / Math.log(PHI)) + 1;
+  }
+
+  private static int bitsetLength(int capacity){
+    return (capacity + 63) >>> 6;
+  }
+
+  private static boolean getBit(long[] bitset, int index){
+    return (bitset[index >>> 6] & (1L << index)) != 0;
+  }
+
+  private static void setBit(long[] bitset, int index){
+    bitset[index >>> 6] |= 1L << index;
+  }
+
+  private static void clearBit(long[] bitset, int index){
+    bitset[index >>> 6] &= ~(1L << index);
+  }
+
+  public int getMin(){
+    return min;
+  }
+
+  public int getSize(){
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty(){
+    return size == 0;
+  }
+
+  @Override
+  public boolean contains(int node){
+    return node < numNodes && getBit(inHeap, node);
+  }
+
+  @Override
+  public int keyOf(int node){
+    return cost[node];
+  }
+
+  public int getCost(int node){
+    return cost[node];
+  }
+
+  public int getPredecessor(int node){
+    return predecessor[node];
+  }
+
+  public boolean isAlreadyInMST(int node){
+    return getBit(alreadyInMST, node);
+  }
+
+  /**
+   * @return a snapshot of the heap's counters, or null if instrumentation is
+   *         disabled
+   */
+  public FHeapStats getStats(){
+    return FHeapStats.ENABLED ? stats.snapshot() : null;
+  }
+
+  /**
+   * Counts decrease keys that the caller skipped without calling
+   * {@link #decreaseKey(int, int, int)}, because it had already checked
+   * {@link #contains(int)} and {@link #keyOf(int)} itself, as if the heap had
+   * skipped them. Does nothing unless instrumentation is enabled.
+   *
+   * @param notSmaller
+   *          decrease keys skipped because the new key was not smaller
+   * @param notInHeap
+   *          decrease keys skipped because the node was not in the heap
+   */
+  public void recordSkippedDecreaseKeys(long notSmaller, long notInHeap){
+    if(FHeapStats.ENABLED){
+      stats.decreaseKeysNotSmaller += notSmaller;
+      stats.decreaseKeysNotInHeap += notInHeap;
+    }
+  }
+
+}
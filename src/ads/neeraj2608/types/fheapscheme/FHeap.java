@@ -1,7 +1,6 @@
 package ads.neeraj2608.types.fheapscheme;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -13,6 +12,8 @@ import java.util.List;
  * <li><b>decreaseKey</b> decrease the key or cost of a node
  * <li><b>deleteMin</b> delete the node with the minimum key or cost
  * </ul>
+ * With -Dads.neeraj2608.fheap.stats=true the heap counts its internal work;
+ * see {@link FHeapStats}.
  */
 public class FHeap{
 
@@ -23,12 +24,14 @@ public class FHeap{
 
   private int                 size;
 
-  HashMap<Integer, FHeapNode> nodeDegrees; // hash map used for merging root nodes after a delete min operation
+  private FHeapNode[]         rootsOfDegree; // rootsOfDegree[d] is the root of degree d seen so far while merging root nodes after a delete min operation
+
+  private FHeapStats          stats = FHeapStats.ENABLED ? new FHeapStats() : null;
 
   public FHeap(){
     size = 0;
     nodeList = new ArrayList<FHeapNode>();
-    nodeDegrees = new HashMap<Integer, FHeapNode>();
+    rootsOfDegree = new FHeapNode[maxDegree(1) + 1];
   }
 
   /**
@@ -38,8 +41,30 @@ public class FHeap{
    *          key of the node to insert
    */
   public void insert(int key){
-    FHeapNode newNode = new FHeapNode(size, key, 0, 0, null, null, null, null, false);
-    nodeList.add(newNode);
+    insert(nodeList.size(), key);
+  }
+
+  /**
+   * Inserts a new Node into the heap with the specified key under the
+   * specified index. The node list is padded with nulls up to the index if
+   * required.
+   * 
+   * @param index
+   *          index of the node to insert
+   * @param key
+   *          key of the node to insert
+   */
+  public void insert(int index, int key){
+    while(nodeList.size() <= index)
+      nodeList.add(null);
+    if(nodeList.get(index) != null && !nodeList.get(index).isAlreadyInMST())
+      throw new IllegalArgumentException("Error: node " + index + " is already in the heap");
+
+    if(FHeapStats.ENABLED)
+      stats.inserts++;
+
+    FHeapNode newNode = new FHeapNode(index, key, 0, 0, null, null, null, null, false);
+    nodeList.set(index, newNode);
     size++;
     if(min == null){
       newNode.setLeftSibling(newNode);
@@ -47,7 +72,7 @@ public class FHeap{
       min = newNode;
     }
     else{
-      insertIntoRootList(nodeList.get(size - 1));
+      insertIntoRootList(newNode);
     }
   }
 
@@ -94,6 +119,9 @@ public class FHeap{
     if(size == 0)
       throw new RuntimeException("Error: No elements in heap");
 
+    if(FHeapStats.ENABLED)
+      stats.deleteMins++;
+
     FHeapNode nodeToDelete = nodeList.get(min.getIndex());
 
     // insert the children of the node we're about to delete into the root chain
@@ -106,9 +134,10 @@ public class FHeap{
                                         // whether to ignore this node in decreaseKey
     size--;
 
-    updateMin(nodeToDelete.getRightSibling());
-
-    nonRecursiveBinomialize(min);
+    if(nodeToDelete.getRightSibling() == nodeToDelete) // the heap is now empty
+      min = null;
+    else
+      consolidate(nodeToDelete.getRightSibling());
 
     return nodeToDelete;
   }
@@ -127,94 +156,69 @@ public class FHeap{
     }
   }
 
-  private void updateMin(FHeapNode startNode){
-    min = startNode;
-    FHeapNode currentNode = startNode.getRightSibling();
-    while(currentNode != startNode){
-      if(!currentNode.isAlreadyInMST() && currentNode.getCost() < min.getCost()){
-        min = currentNode;
-      }
-      currentNode = currentNode.getRightSibling();
-    }
-  }
-
   /**
-   * Same as {@link FHeap#binomialize(FHeapNode)}, only non-recursive.
-   * Introduced because the recursive version craps out (stack overflow) for
-   * large graphs (n approx 3000)
+   * Merges nodes in the root list that have the same degree (similar to a
+   * binomial heap). Each root is visited exactly once: a root is linked with
+   * the root of equal degree recorded so far, and the winner carries on up
+   * the degrees until it finds a free slot. The new min node is then picked
+   * from the surviving roots, so no separate root list scan is needed. Runs in
+   * O(#roots + log n).
    * 
    * @param startNode
    *          Node in the root list to start the merge at
    */
-  private void nonRecursiveBinomialize(FHeapNode startNode){
-    boolean DONE = false;
+  private void consolidate(FHeapNode startNode){
+    int numRoots = 0;
     FHeapNode currentNode = startNode;
-    nodeDegrees.clear();
-
-    while(!DONE){
-      while(true){
-        int degree = currentNode.getDegree();
-        if(nodeDegrees.containsKey(degree)){
-          FHeapNode existingNodeOfSameDegree = nodeDegrees.get(degree);
-          FHeapNode winningNode = union(currentNode, existingNodeOfSameDegree);
-          currentNode = winningNode;
-          startNode = winningNode;
-          if(winningNode.getCost() <= min.getCost())
-            min = winningNode;
-          nodeDegrees.clear();
-          break;
-        }
-        else{
-          nodeDegrees.put(degree, currentNode);
-          currentNode = currentNode.getRightSibling();
-          if(currentNode == startNode){
-            DONE = true;
-            break;
-          }
-        }
+    do{
+      numRoots++;
+      currentNode = currentNode.getRightSibling();
+    } while(currentNode != startNode);
+
+    if(rootsOfDegree.length <= maxDegree(nodeList.size()))
+      rootsOfDegree = new FHeapNode[maxDegree(nodeList.size()) + 1];
+
+    int maxDegreeSeen = 0;
+    int links = 0;
+    for(int i = 0; i < numRoots; i++){
+      FHeapNode nextNode = currentNode.getRightSibling(); // roots linked below were visited earlier, so nextNode stays in the root chain
+      FHeapNode winningNode = currentNode;
+      int degree = winningNode.getDegree();
+      while(rootsOfDegree[degree] != null){
+        winningNode = union(winningNode, rootsOfDegree[degree]);
+        rootsOfDegree[degree] = null;
+        degree++;
+        links++;
       }
-      //if(currentNode.getCost() <= min.getCost())
-      //  min = currentNode;
+      rootsOfDegree[degree] = winningNode;
+      if(degree > maxDegreeSeen)
+        maxDegreeSeen = degree;
+      currentNode = nextNode;
     }
-  }
 
-  /**
-   * Merges nodes in the root list that have the same degree (similar to a
-   * binomial heap, hence the method name)
-   * <p>
-   * Will update the min node if required.
-   * </p>
-   * 
-   * @param startNode
-   *          Node in the root list to start the merge at
-   */
-  private void binomialize(FHeapNode startNode){
-    nodeDegrees.clear();
-    binomialize(startNode, startNode);
-  }
-
-  private void binomialize(FHeapNode startNode, FHeapNode currentNode){
-    nodeDegrees.put(currentNode.getDegree(), currentNode);
-
-    while(currentNode.getRightSibling() != startNode){
-      FHeapNode node = currentNode.getRightSibling();
-      int degree = node.getDegree();
+    if(FHeapStats.ENABLED)
+      stats.recordConsolidation(numRoots, links, maxDegreeSeen);
 
-      if(nodeDegrees.containsKey(degree)){
-        FHeapNode existingNodeOfSameDegree = nodeDegrees.get(degree);
-        FHeapNode winningNode = union(node, existingNodeOfSameDegree);
-        if(winningNode.getCost() <= min.getCost())
-          min = winningNode;
-        binomialize(winningNode); // start afresh
-        return;
-      }
-      else{
-        binomialize(startNode, node); // retain degrees hashmap
-        return;
+    min = null;
+    for(int degree = 0; degree <= maxDegreeSeen; degree++){
+      FHeapNode root = rootsOfDegree[degree];
+      if(root != null){
+        if(min == null || root.getCost() < min.getCost())
+          min = root;
+        rootsOfDegree[degree] = null;
       }
     }
   }
 
+  /**
+   * The degree of any node in an F-heap with n nodes is at most log_phi(n),
+   * because cascading cuts keep a node of degree d at least F(d + 2) nodes
+   * large.
+   */
+  private static int maxDegree(int numNodes){
+    return (int) Math.floor(Math.log(Math.max(numNodes, 1)) / Math.log((1 + Math.sqrt(5)) / 2)) + 1;
+  }
+
   /**
    * Takes two nodes and makes the lesser node a child of the other. Takes care
    * to update child/parent/sibling pointers as required.
@@ -226,6 +230,7 @@ public class FHeap{
   private FHeapNode union(FHeapNode node1, FHeapNode node2){
     if(node1.getCost() <= node2.getCost()){
       node2.setParent(node1);
+      node2.setMarked(false); // a new child has not lost any children yet
 
       // connect up the neighbors of the node that we're about to make a child. this way the root chain stays connected
       // without passing through the node that we just demoted
@@ -277,32 +282,53 @@ public class FHeap{
    *          the node from which this key or cost applies
    */
   public void decreaseKey(FHeapNode node, int newKey, int predecessor){
-    if(node.isAlreadyInMST())
+    if(node.isAlreadyInMST()){
+      if(FHeapStats.ENABLED)
+        stats.decreaseKeysNotInHeap++;
       return;
+    }
 
-    if(newKey >= node.getCost())
+    if(newKey >= node.getCost()){
+      if(FHeapStats.ENABLED)
+        stats.decreaseKeysNotSmaller++;
       return;
+    }
+
+    if(FHeapStats.ENABLED)
+      stats.decreaseKeys++;
 
     node.setCost(newKey);
     node.setPredecessor(predecessor);
 
-    cut(node);
+    cut(node, false);
   }
 
   /**
    * Performs the F-heap cut operation. Will call cut recursively (cascade-cut)
-   * if required.
+   * if required. A node whose key was decreased is only cut if it is now
+   * cheaper than its parent; a marked ancestor is always cut, since it has
+   * lost a second child, whatever its cost.
    * 
    * @param node
+   * @param cascading
+   *          true if the node is being cut because it is a marked ancestor of
+   *          a cut node
    */
-  private void cut(FHeapNode node){
+  private void cut(FHeapNode node, boolean cascading){
     FHeapNode parent = node.getParent(); // save this beforehand because the reference to the parent will be nulled out in the insertIntoRootList method
     if(null == parent){ // stop if we're at the root chain or if we ascended to it
       if(node.getCost() < min.getCost())
         min = node;
       return;
     }
-    else if(node.getCost() < parent.getCost()){
+    else if(cascading || node.getCost() < parent.getCost()){
+      if(FHeapStats.ENABLED){
+        if(cascading)
+          stats.cascadingCuts++;
+        else
+          stats.cuts++;
+      }
+
       parent.setDegree(parent.getDegree() - 1); // decrement degree
 
       if(node.getRightSibling() == node)
@@ -319,7 +345,7 @@ public class FHeap{
       if(!parent.isMarked())
         parent.setMarked(true);
       else
-        cut(parent);
+        cut(parent, true);
     }
   }
 
@@ -335,4 +361,12 @@ public class FHeap{
     return nodeList;
   }
 
+  /**
+   * @return a snapshot of the heap's counters, or null if instrumentation is
+   *         disabled
+   */
+  public FHeapStats getStats(){
+    return FHeapStats.ENABLED ? stats.snapshot() : null;
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package ads.neeraj2608.types.fheapscheme;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one F-heap consolidation. Off by default, even in recordings,
+ * because there is one per deleteMin; enable ads.neeraj2608.FHeapConsolidation
+ * in the recording settings to get it. Only committed when
+ * {@link FHeapStats#ENABLED} is set.
+ */
+@Name("ads.neeraj2608.FHeapConsolidation")
+@Label("F-Heap Consolidation")
+@Category({"MST", "F-Heap"})
+@Description("Root list merge after an F-heap deleteMin")
+@Enabled(false)
+@StackTrace(false)
+class FHeapConsolidationEvent extends Event{
+
+  @Label("Root List Length")
+  @Description("Length of the root list before consolidating")
+  int rootListLength;
+
+  @Label("Links")
+  int links;
+
+  @Label("Max Degree")
+  @Description("Highest degree of a root after consolidating")
+  int maxDegree;
+
+}
@@ -0,0 +1,55 @@
+package ads.neeraj2608.types.fheapscheme;
+
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * Adapts {@link FHeap} to the {@link IndexedMinPriorityQueue} interface. The
+ * index of a vertex is the index of its node in {@link FHeap#getNodeList()}.
+ */
+public class FHeapQueue implements IndexedMinPriorityQueue{
+
+  private FHeap fHeap;
+
+  public FHeapQueue(){
+    fHeap = new FHeap();
+  }
+
+  @Override
+  public void insert(int vertex, int key){
+    fHeap.insert(vertex, key);
+  }
+
+  @Override
+  public void decreaseKey(int vertex, int newKey){
+    FHeapNode node = fHeap.getNodeList().get(vertex);
+    fHeap.decreaseKey(node, newKey, node.getPredecessor());
+  }
+
+  @Override
+  public int deleteMin(){
+    return fHeap.deleteMin().getIndex();
+  }
+
+  @Override
+  public boolean isEmpty(){
+    return fHeap.getSize() == 0;
+  }
+
+  @Override
+  public boolean contains(int vertex){
+    if(vertex >= fHeap.getNodeList().size())
+      return false;
+    FHeapNode node = fHeap.getNodeList().get(vertex);
+    return node != null && !node.isAlreadyInMST();
+  }
+
+  @Override
+  public int keyOf(int vertex){
+    return fHeap.getNodeList().get(vertex).getCost();
+  }
+
+  public FHeap getFHeap(){
+    return fHeap;
+  }
+
+}
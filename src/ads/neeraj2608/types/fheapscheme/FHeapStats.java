@@ -0,0 +1,172 @@
+package ads.neeraj2608.types.fheapscheme;
+
+/**
+ * Counters of the work done inside an F-heap ({@link FHeap} or
+ * {@link ArrayFHeap}). Instrumentation is switched on for the whole JVM with
+ * -Dads.neeraj2608.fheap.stats=true. When it is off, the heaps keep no
+ * counters at all: every update is behind the {@link #ENABLED} constant, which
+ * the JIT folds away.
+ * <p>
+ * Every consolidation is also reported as an {@link FHeapConsolidationEvent},
+ * and {@link #commitEvent()} reports all counters as one
+ * {@link FHeapStatsEvent}, both only while a JFR recording has the events
+ * enabled.
+ * </p>
+ */
+public class FHeapStats{
+
+  public static final boolean ENABLED = Boolean.getBoolean("ads.neeraj2608.fheap.stats");
+
+  long                        inserts;
+
+  long                        deleteMins;
+
+  long                        decreaseKeys;                 // effective decrease keys only
+
+  long                        decreaseKeysNotSmaller;       // skipped because the new key was not smaller
+
+  long                        decreaseKeysNotInHeap;        // skipped because the node was not in the heap (e.g. already in the MST)
+
+  long                        cuts;                         // cuts of the node whose key was decreased
+
+  long                        cascadingCuts;                // cuts of marked ancestors
+
+  long                        consolidations;
+
+  long                        links;                        // roots made a child of another root during consolidation
+
+  long                        totalRootListLength;          // summed over all consolidations, measured before consolidating
+
+  int                         maxRootListLength;
+
+  int                         maxDegree;
+
+  FHeapStats(){
+  }
+
+  /**
+   * Records a consolidation
+   *
+   * @param rootListLength
+   *          length of the root list before consolidating
+   * @param linksDone
+   *          number of links done while consolidating
+   * @param maxRootDegree
+   *          highest degree of a root after consolidating
+   */
+  void recordConsolidation(int rootListLength, int linksDone, int maxRootDegree){
+    consolidations++;
+    links += linksDone;
+    totalRootListLength += rootListLength;
+    maxRootListLength = Math.max(maxRootListLength, rootListLength);
+    maxDegree = Math.max(maxDegree, maxRootDegree);
+
+    FHeapConsolidationEvent event = new FHeapConsolidationEvent();
+    if(event.shouldCommit()){
+      event.rootListLength = rootListLength;
+      event.links = linksDone;
+      event.maxDegree = maxRootDegree;
+      event.commit();
+    }
+  }
+
+  /**
+   * @return a copy of the counters as they are now
+   */
+  public FHeapStats snapshot(){
+    FHeapStats snapshot = new FHeapStats();
+    snapshot.inserts = inserts;
+    snapshot.deleteMins = deleteMins;
+    snapshot.decreaseKeys = decreaseKeys;
+    snapshot.decreaseKeysNotSmaller = decreaseKeysNotSmaller;
+    snapshot.decreaseKeysNotInHeap = decreaseKeysNotInHeap;
+    snapshot.cuts = cuts;
+    snapshot.cascadingCuts = cascadingCuts;
+    snapshot.consolidations = consolidations;
+    snapshot.links = links;
+    snapshot.totalRootListLength = totalRootListLength;
+    snapshot.maxRootListLength = maxRootListLength;
+    snapshot.maxDegree = maxDegree;
+    return snapshot;
+  }
+
+  /**
+   * Reports the counters as an {@link FHeapStatsEvent}, if JFR is recording it
+   */
+  public void commitEvent(){
+    FHeapStatsEvent event = new FHeapStatsEvent();
+    if(event.shouldCommit()){
+      event.inserts = inserts;
+      event.deleteMins = deleteMins;
+      event.decreaseKeys = decreaseKeys;
+      event.decreaseKeysNotSmaller = decreaseKeysNotSmaller;
+      event.decreaseKeysNotInHeap = decreaseKeysNotInHeap;
+      event.cuts = cuts;
+      event.cascadingCuts = cascadingCuts;
+      event.consolidations = consolidations;
+      event.links = links;
+      event.averageRootListLength = getAverageRootListLength();
+      event.maxRootListLength = maxRootListLength;
+      event.maxDegree = maxDegree;
+      event.commit();
+    }
+  }
+
+  public long getInserts(){
+    return inserts;
+  }
+
+  public long getDeleteMins(){
+    return deleteMins;
+  }
+
+  public long getDecreaseKeys(){
+    return decreaseKeys;
+  }
+
+  public long getDecreaseKeysNotSmaller(){
+    return decreaseKeysNotSmaller;
+  }
+
+  public long getDecreaseKeysNotInHeap(){
+    return decreaseKeysNotInHeap;
+  }
+
+  public long getCuts(){
+    return cuts;
+  }
+
+  public long getCascadingCuts(){
+    return cascadingCuts;
+  }
+
+  public long getConsolidations(){
+    return consolidations;
+  }
+
+  public long getLinks(){
+    return links;
+  }
+
+  public double getAverageRootListLength(){
+    return consolidations == 0 ? 0 : (double) totalRootListLength / consolidations;
+  }
+
+  public int getMaxRootListLength(){
+    return maxRootListLength;
+  }
+
+  public int getMaxDegree(){
+    return maxDegree;
+  }
+
+  @Override
+  public String toString(){
+    return "inserts=" + inserts + ", deleteMins=" + deleteMins + ", decreaseKeys=" + decreaseKeys
+        + " (skipped: " + decreaseKeysNotSmaller + " not smaller, " + decreaseKeysNotInHeap + " not in heap)"
+        + ", cuts=" + cuts + ", cascadingCuts=" + cascadingCuts + ", consolidations=" + consolidations + ", links=" + links
+        + ", rootListLength avg=" + String.format("%.1f", getAverageRootListLength()) + " max=" + maxRootListLength
+        + ", maxDegree=" + maxDegree;
+  }
+
+}
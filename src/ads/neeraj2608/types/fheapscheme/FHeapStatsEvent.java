@@ -0,0 +1,55 @@
+package ads.neeraj2608.types.fheapscheme;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event with all the counters of an F-heap, committed by
+ * {@link FHeapStats#commitEvent()}.
+ */
+@Name("ads.neeraj2608.FHeapStats")
+@Label("F-Heap Statistics")
+@Category({"MST", "F-Heap"})
+@StackTrace(false)
+class FHeapStatsEvent extends Event{
+
+  @Label("Inserts")
+  long   inserts;
+
+  @Label("Delete Mins")
+  long   deleteMins;
+
+  @Label("Decrease Keys")
+  long   decreaseKeys;
+
+  @Label("Decrease Keys Skipped (Not Smaller)")
+  long   decreaseKeysNotSmaller;
+
+  @Label("Decrease Keys Skipped (Not In Heap)")
+  long   decreaseKeysNotInHeap;
+
+  @Label("Cuts")
+  long   cuts;
+
+  @Label("Cascading Cuts")
+  long   cascadingCuts;
+
+  @Label("Consolidations")
+  long   consolidations;
+
+  @Label("Links")
+  long   links;
+
+  @Label("Average Root List Length")
+  double averageRootListLength;
+
+  @Label("Max Root List Length")
+  int    maxRootListLength;
+
+  @Label("Max Degree")
+  int    maxDegree;
+
+}
@@ -0,0 +1,140 @@
+package ads.neeraj2608.types.kruskalscheme;
+
+import java.util.Arrays;
+import java.util.List;
+
+import ads.neeraj2608.types.common.AdjListNode;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.Graph;
+
+/**
+ * Flat list of the undirected edges of a graph, stored as three parallel
+ * primitive arrays. Both graph types store every edge as two arcs; only the arc
+ * going from the lower to the higher vertex index is kept, so each edge
+ * appears once. Self loops are dropped since they can never be in an MST.
+ */
+public class EdgeList{
+
+  int   numVertices;
+
+  int   numEdges;
+
+  int[] starts;
+
+  int[] finishes;
+
+  int[] costs;
+
+  EdgeList(int numVertices, int capacity){
+    this.numVertices = numVertices;
+    starts = new int[capacity];
+    finishes = new int[capacity];
+    costs = new int[capacity];
+  }
+
+  public static EdgeList fromGraph(Graph graph){
+    int numArcs = 0;
+    for(List<AdjListNode> nodes: graph.getAdjList()){
+      numArcs += nodes.size();
+    }
+
+    EdgeList edgeList = new EdgeList(graph.getNumVertices(), numArcs / 2);
+    for(int start = 0; start < graph.getNumVertices(); start++){
+      for(AdjListNode node: graph.getAdjList().get(start)){
+        if(start < node.getTargetNode())
+          edgeList.add(start, node.getTargetNode(), node.getEdge().getCost());
+      }
+    }
+    return edgeList;
+  }
+
+  public static EdgeList fromCSRGraph(CSRGraph graph){
+    int[] offsets = graph.getOffsets();
+    int[] targets = graph.getTargets();
+    int[] weights = graph.getWeights();
+
+    EdgeList edgeList = new EdgeList(graph.getNumVertices(), graph.getNumEdges());
+    for(int start = 0; start < graph.getNumVertices(); start++){
+      for(int arc = offsets[start]; arc < offsets[start + 1]; arc++){
+        if(start < targets[arc])
+          edgeList.add(start, targets[arc], weights[arc]);
+      }
+    }
+    return edgeList;
+  }
+
+  public static EdgeList fromCSRAdjacency(CSRAdjacency graph){
+    if(graph instanceof CSRGraph)
+      return fromCSRGraph((CSRGraph) graph);
+    if(graph.getNumArcs() / 2 > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Error: too many edges for an edge list: " + graph.getNumArcs() / 2);
+
+    EdgeList edgeList = new EdgeList(graph.getNumVertices(), (int) (graph.getNumArcs() / 2));
+    for(int start = 0; start < graph.getNumVertices(); start++){
+      long endArc = graph.getEndArc(start);
+      for(long arc = graph.getFirstArc(start); arc < endArc; arc++){
+        int target = graph.getTarget(arc);
+        if(start < target)
+          edgeList.add(start, target, graph.getWeight(arc));
+      }
+    }
+    return edgeList;
+  }
+
+  private void add(int start, int finish, int cost){
+    if(numEdges == starts.length){ // only if the two arcs of some edge were not both present
+      int capacity = starts.length + (starts.length >> 1) + 1;
+      starts = Arrays.copyOf(starts, capacity);
+      finishes = Arrays.copyOf(finishes, capacity);
+      costs = Arrays.copyOf(costs, capacity);
+    }
+    starts[numEdges] = start;
+    finishes[numEdges] = finish;
+    costs[numEdges] = cost;
+    numEdges++;
+  }
+
+  /**
+   * Sorts the edges by cost. Each edge is packed into a long with the cost in
+   * the high 32 bits and the edge index in the low 32 bits, and the longs are
+   * sorted with {@link Arrays#parallelSort(long[])}, which splits the work
+   * across all cores.
+   *
+   * @return edge indices in order of increasing cost
+   */
+  public int[] sortedByCost(){
+    long[] keys = new long[numEdges];
+    for(int i = 0; i < numEdges; i++){
+      keys[i] = ((long) costs[i] << 32) | i;
+    }
+    Arrays.parallelSort(keys);
+
+    int[] order = new int[numEdges];
+    for(int i = 0; i < numEdges; i++){
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  public int getNumVertices(){
+    return numVertices;
+  }
+
+  public int getNumEdges(){
+    return numEdges;
+  }
+
+  public int getStart(int edge){
+    return starts[edge];
+  }
+
+  public int getFinish(int edge){
+    return finishes[edge];
+  }
+
+  public int getCost(int edge){
+    return costs[edge];
+  }
+
+}
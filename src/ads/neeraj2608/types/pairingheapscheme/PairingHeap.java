@@ -0,0 +1,186 @@
+package ads.neeraj2608.types.pairingheapscheme;
+
+import ads.neeraj2608.types.common.IndexedMinPriorityQueue;
+
+/**
+ * This class represents a pairing heap. Like {@link
+ * ads.neeraj2608.types.fheapscheme.ArrayFHeap}, nodes are addressed by vertex
+ * index and their fields are kept in parallel primitive arrays. Every node has
+ * a pointer to its first child, to its right sibling and to its left sibling
+ * (or to its parent, if it is the first child). It supports the following
+ * operations:
+ * <ul>
+ * <li><b>insert</b> meld a single node tree with the root
+ * <li><b>decreaseKey</b> cut the node's subtree out of its parent and meld it
+ * with the root
+ * <li><b>deleteMin</b> remove the root and merge its children with the
+ * two-pass scheme: meld them in pairs left to right, then meld the pairs
+ * right to left
+ * </ul>
+ * <p>
+ * There are no marks, degrees or cascading cuts, which gives pairing heaps much
+ * lower constant factors than F-heaps.
+ * </p>
+ */
+public class PairingHeap implements IndexedMinPriorityQueue{
+
+  private static final int NIL = -1;
+
+  private int[]            key;
+
+  private int[]            child;   // first child
+
+  private int[]            next;    // right sibling
+
+  private int[]            prev;    // left sibling, or parent for a first child
+
+  private long[]           inHeap;  // bitset; set from insert until deleteMin
+
+  private int              root = NIL;
+
+  private int              size;
+
+  /**
+   * @param capacity
+   *          vertex indices must be in [0, capacity)
+   */
+  public PairingHeap(int capacity){
+    key = new int[capacity];
+    child = new int[capacity];
+    next = new int[capacity];
+    prev = new int[capacity];
+    inHeap = new long[(capacity + 63) >>> 6];
+  }
+
+  @Override
+  public void insert(int vertex, int key){
+    if(contains(vertex))
+      throw new IllegalArgumentException("Error: vertex " + vertex + " is already in the heap");
+
+    this.key[vertex] = key;
+    child[vertex] = NIL;
+    next[vertex] = NIL;
+    prev[vertex] = NIL;
+    inHeap[vertex >>> 6] |= 1L << vertex;
+    size++;
+
+    root = root == NIL ? vertex : meld(root, vertex);
+  }
+
+  @Override
+  public void decreaseKey(int vertex, int newKey){
+    if(!contains(vertex) || newKey >= key[vertex])
+      return;
+
+    key[vertex] = newKey;
+    if(vertex == root)
+      return;
+
+    // cut the subtree rooted at vertex out of its sibling list
+    int left = prev[vertex];
+    if(child[left] == vertex)
+      child[left] = next[vertex];
+    else
+      next[left] = next[vertex];
+    if(next[vertex] != NIL)
+      prev[next[vertex]] = left;
+    next[vertex] = NIL;
+    prev[vertex] = NIL;
+
+    root = meld(root, vertex);
+  }
+
+  @Override
+  public int deleteMin(){
+    if(size == 0)
+      throw new RuntimeException("Error: No elements in heap");
+
+    int minVertex = root;
+    inHeap[minVertex >>> 6] &= ~(1L << minVertex);
+    size--;
+
+    int first = child[minVertex];
+    if(first == NIL){
+      root = NIL;
+      return minVertex;
+    }
+
+    // first pass: meld the children in pairs, left to right. The results are
+    // pushed onto a list threaded through next, so it ends up reversed.
+    int pairs = NIL;
+    int current = first;
+    while(current != NIL){
+      int second = next[current];
+      int merged;
+      if(second == NIL){
+        merged = current;
+        current = NIL;
+      }
+      else{
+        int pairStart = current;
+        current = next[second];
+        merged = meld(pairStart, second);
+      }
+      next[merged] = pairs;
+      pairs = merged;
+    }
+
+    // second pass: meld the pairs right to left, i.e. in list order
+    int result = pairs;
+    current = next[pairs];
+    while(current != NIL){
+      int following = next[current];
+      result = meld(result, current);
+      current = following;
+    }
+
+    next[result] = NIL;
+    prev[result] = NIL;
+    root = result;
+
+    return minVertex;
+  }
+
+  /**
+   * Makes the root with the greater key the first child of the other. The
+   * sibling pointers of the winner are left untouched.
+   *
+   * @return the root that wins
+   */
+  private int meld(int node1, int node2){
+    if(key[node2] < key[node1]){
+      int temp = node1;
+      node1 = node2;
+      node2 = temp;
+    }
+
+    int firstChild = child[node1];
+    next[node2] = firstChild;
+    if(firstChild != NIL)
+      prev[firstChild] = node2;
+    prev[node2] = node1;
+    child[node1] = node2;
+
+    return node1;
+  }
+
+  @Override
+  public boolean isEmpty(){
+    return size == 0;
+  }
+
+  @Override
+  public boolean contains(int vertex){
+    return (inHeap[vertex >>> 6] & (1L << vertex)) != 0;
+  }
+
+  @Override
+  public int keyOf(int vertex){
+    return key[vertex];
+  }
+
+  public int getSize(){
+    return size;
+  }
+
+}
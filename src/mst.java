@@ -1,18 +1,42 @@
 import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.List;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.TimeUnit;
 
+import ads.neeraj2608.mst.boruvkascheme.BoruvkaMSTGenerator;
+import ads.neeraj2608.mst.bucketscheme.BucketSchemeMSTGenerator;
 import ads.neeraj2608.mst.common.GraphGenerator;
 import ads.neeraj2608.mst.common.MSTGenerator;
+import ads.neeraj2608.mst.common.MSTGeneratorInterface;
+import ads.neeraj2608.mst.common.MSTResult;
+import ads.neeraj2608.mst.common.MSTRunStats;
+import ads.neeraj2608.mst.common.SpanningForest;
+import ads.neeraj2608.mst.common.SpanningForestGenerator;
+import ads.neeraj2608.mst.daryheapscheme.DaryHeapSchemeMSTGenerator;
 import ads.neeraj2608.mst.fheapscheme.FHeapSchemeMSTGenerator;
+import ads.neeraj2608.mst.kruskalscheme.ExternalKruskalMSTGenerator;
+import ads.neeraj2608.mst.kruskalscheme.FilterKruskalMSTGenerator;
+import ads.neeraj2608.mst.kruskalscheme.KruskalMSTGenerator;
+import ads.neeraj2608.mst.pairingheapscheme.PairingHeapSchemeMSTGenerator;
 import ads.neeraj2608.mst.simplescheme.SimpleSchemeMSTGenerator;
-import ads.neeraj2608.types.common.AdjListNode;
+import ads.neeraj2608.types.common.CSRAdjacency;
+import ads.neeraj2608.types.common.CSRGraph;
+import ads.neeraj2608.types.common.CSRGraphFile;
 import ads.neeraj2608.types.common.Edge;
+import ads.neeraj2608.types.common.EdgeConsumer;
 import ads.neeraj2608.types.common.Graph;
+import ads.neeraj2608.types.common.GraphComponents;
+import ads.neeraj2608.types.common.GraphFormatException;
+import ads.neeraj2608.types.common.OffHeapCSRGraph;
+import ads.neeraj2608.types.common.ParallelTextGraphLoader;
+import ads.neeraj2608.types.common.TextGraphParser;
 
 /*
  * Facade for the actual code. Processes the command being given on the input line.
@@ -46,27 +70,56 @@ public class mst{
     if(cmd.startsWith("mst -r")){ // random mode
       String[] params = cmd.split("\\s+");
       if(params.length < 4){
-        System.out.println("ERROR: Not enough params given. Syntax is 'mst -r n d'. Please try again.\n");
+        System.out.println("ERROR: Not enough params given. Syntax is 'mst -r n d [seed]'. Please try again.\n");
       } else{
         int numVertices = Integer.parseInt(params[2]);
         double density = Double.parseDouble(params[3])/100;
         
         if(density < 0.01){
           System.out.println("Please specify a density in percentage, e.g. for a graph with density of 50%, please enter 50\n");
+        } else if(params.length > 4){
+          processSeededRandomMode(numVertices, density, Long.parseLong(params[4]));
         } else{
           processRandomMode(numVertices, density);
         }
       }
     } else if(cmd.startsWith("mst -s")){ // file input mode, simple heap scheme
-      Graph graph = createGraphFromFile(cmd);
-      List<Edge> generatedMST = MSTGenerator.generateMST(new SimpleSchemeMSTGenerator(), graph);
-      printTimeAndCost(MSTGenerator.getRuntime(), generatedMST);
-      printEdges(generatedMST);
+      processFileMode(cmd, new SimpleSchemeMSTGenerator());
     } else if(cmd.startsWith("mst -f")){ // file input mode, f-heap scheme
-      Graph graph = createGraphFromFile(cmd);
-      List<Edge> generatedMST = MSTGenerator.generateMST(new FHeapSchemeMSTGenerator(), graph);
-      printTimeAndCost(MSTGenerator.getRuntime(), generatedMST);
-      printEdges(generatedMST);
+      processFileMode(cmd, new FHeapSchemeMSTGenerator());
+    } else if(cmd.startsWith("mst -d")){ // file input mode, d-ary heap scheme
+      String[] params = cmd.split("\\s+");
+      int arity = params.length > 3 ? Integer.parseInt(params[3]) : DaryHeapSchemeMSTGenerator.DEFAULT_ARITY;
+      processFileMode(cmd, new DaryHeapSchemeMSTGenerator(arity));
+    } else if(cmd.startsWith("mst -p")){ // file input mode, pairing heap scheme
+      processFileMode(cmd, new PairingHeapSchemeMSTGenerator());
+    } else if(cmd.startsWith("mst -b")){ // file input mode, bucket queue scheme
+      processFileMode(cmd, new BucketSchemeMSTGenerator());
+    } else if(cmd.startsWith("mst -k")){ // file input mode, kruskal scheme
+      processFileMode(cmd, new KruskalMSTGenerator());
+    } else if(cmd.startsWith("mst -l")){ // file input mode, filter-kruskal scheme
+      processFileMode(cmd, new FilterKruskalMSTGenerator());
+    } else if(cmd.startsWith("mst -o")){ // file input mode, parallel boruvka scheme
+      processFileMode(cmd, new BoruvkaMSTGenerator());
+    } else if(cmd.startsWith("mst -c")){ // file input mode, all schemes at the same time over one loaded graph
+      processConcurrentMode(cmd.split("\\s+")[2]);
+    } else if(cmd.startsWith("mst -m")){ // file input mode, minimum spanning forest with the f-heap scheme
+      processForestMode(cmd.split("\\s+")[2], new FHeapSchemeMSTGenerator());
+    } else if(cmd.startsWith("mst -e")){ // external kruskal on a text graph file that does not fit in memory
+      String[] params = cmd.split("\\s+");
+      if(params.length < 4){
+        System.out.println("ERROR: Not enough params given. Syntax is 'mst -e filename budget [outputfile]'. Please try again.\n");
+      } else{
+        long memoryBudget = Long.parseLong(params[3]) << 20;
+        processExternalMode(params[2], memoryBudget, params.length > 4 ? params[4] : null);
+      }
+    } else if(cmd.startsWith("mst -w")){ // convert a text graph file to the binary format
+      String[] params = cmd.split("\\s+");
+      if(params.length < 4){
+        System.out.println("ERROR: Not enough params given. Syntax is 'mst -w textfile binaryfile'. Please try again.\n");
+      } else{
+        writeBinaryGraphFile(params[2], params[3]);
+      }
     } else if("runexperiment".equals(cmd)){
       runRandomizedExperiment();
     } else{
@@ -74,105 +127,319 @@ public class mst{
     }
   }
 
+  /**
+   * The schemes compared by random mode and the randomized experiment, in the
+   * order they are run and reported
+   */
+  private static final String[] SCHEME_NAMES = {"simple", "f-heap", "f-heap (insert on discovery)", "d-heap (d = "+DaryHeapSchemeMSTGenerator.DEFAULT_ARITY+")",
+                                                "pairing heap", "bucket queue", "kruskal", "filter-kruskal", "parallel boruvka"};
+
+  private static MSTGeneratorInterface[] createGenerators(){
+    return new MSTGeneratorInterface[]{new SimpleSchemeMSTGenerator(),
+                                       new FHeapSchemeMSTGenerator(),
+                                       new FHeapSchemeMSTGenerator(true),
+                                       new DaryHeapSchemeMSTGenerator(),
+                                       new PairingHeapSchemeMSTGenerator(),
+                                       new BucketSchemeMSTGenerator(),
+                                       new KruskalMSTGenerator(),
+                                       new FilterKruskalMSTGenerator(),
+                                       new BoruvkaMSTGenerator()};
+  }
+
+  private static void processFileMode(String cmd, MSTGeneratorInterface mstGenerator){
+    CSRAdjacency graph = loadGraph(cmd.split("\\s+")[2]);
+    if(graph == null || !checkConnected(graph))
+      return;
+    MSTRunStats stats = MSTGenerator.generateMST(mstGenerator, graph);
+    printStats(stats);
+    printEdges(stats.getResult());
+  }
+
+  /**
+   * Loads a graph once and runs all the schemes over it at the same time, each
+   * on a thread of its own
+   */
+  private static void processConcurrentMode(String fileName){
+    CSRAdjacency graph = loadGraph(fileName);
+    if(graph == null || !checkConnected(graph))
+      return;
+    MSTRunStats[] stats = MSTGenerator.generateMSTsConcurrently(createGenerators(), graph);
+    for(int i = 0; i < stats.length; i++){
+      String title = "Ran "+SCHEME_NAMES[i]+" scheme";
+      System.out.println(title);
+      System.out.println(title.replaceAll(".", "-"));
+      printStats(stats[i]);
+    }
+  }
+
+  /**
+   * Generates the minimum spanning forest of a graph that need not be
+   * connected, one component per task, and prints the tree of every component
+   */
+  private static void processForestMode(String fileName, MSTGeneratorInterface mstGenerator){
+    CSRAdjacency graph = loadGraph(fileName);
+    if(graph == null)
+      return;
+    long start = System.nanoTime();
+    SpanningForest forest = new SpanningForestGenerator(mstGenerator).generateForest(graph);
+    long runtime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    System.out.println("Time taken:\t\t"+runtime+" millisec");
+    System.out.println("Components:\t\t"+forest.getNumComponents());
+    System.out.println("Edges in forest:\t"+forest.getNumEdges());
+    System.out.println("Total cost of forest:\t"+forest.getTotalCost());
+    System.out.println();
+    for(int c = 0; c < forest.getNumComponents(); c++){
+      System.out.println("Component "+c+": "+forest.getComponents().getSize(c)+" vertices, cost "+forest.getCost(c));
+      for(Edge MSTEdge: forest.getEdges(c)){
+        System.out.println(MSTEdge.getStart()+"\t"+MSTEdge.getFinish()+"\t"+MSTEdge.getCost());
+      }
+    }
+    System.out.println();
+  }
+
+  /**
+   * Runs the external kruskal scheme, streaming the MST edges to the output
+   * file, or to the console if there is none
+   */
+  private static void processExternalMode(String fileName, long memoryBudget, String outputFileName){
+    File file = new File(fileName);
+    if(!file.isFile()){
+      System.out.format("ERROR: File %s not found.\n", fileName);
+      return;
+    }
+    Writer out = null;
+    try{
+      if(outputFileName == null){
+        System.out.println("Edges in MST:");
+        out = new BufferedWriter(new OutputStreamWriter(System.out));
+      } else{
+        out = new BufferedWriter(new FileWriter(outputFileName));
+      }
+      final Writer edgeWriter = out;
+      long start = System.nanoTime();
+      ExternalKruskalMSTGenerator.Result result = new ExternalKruskalMSTGenerator(memoryBudget).generateMST(file, new EdgeConsumer(){
+        @Override
+        public void addEdge(int start, int finish, int cost) throws IOException{
+          edgeWriter.write(start+"\t"+finish+"\t"+cost+"\n");
+        }
+      });
+      long runtime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      out.flush();
+
+      System.out.println();
+      System.out.println("Time taken:\t\t"+runtime+" millisec");
+      System.out.println("Graph:\t\t\t"+result.getNumVertices()+" vertices, "+result.getNumEdges()+" edges");
+      System.out.println("Runs spilled:\t\t"+result.getNumRuns());
+      System.out.println("Edges in MST:\t\t"+result.getNumMSTEdges()+(outputFileName == null ? "" : " (written to "+outputFileName+")"));
+      System.out.println("Total cost of MST:\t"+result.getMSTCost());
+      System.out.println();
+    } catch(GraphFormatException e){
+      System.out.format("ERROR: Malformed graph file %s.\n%s\n", fileName, e.getMessage());
+    } catch(IllegalArgumentException e){ // budget too small
+      System.out.println(e.getMessage());
+    } catch(IOException e){
+      System.out.format("ERROR: IO error running the external scheme on %s: %s\n", fileName, e.getMessage());
+    } finally{
+      closeOutput(out, outputFileName != null);
+    }
+  }
+
+  /**
+   * Flushes an output writer, and closes it unless it writes to the console
+   */
+  private static void closeOutput(Writer out, boolean close){
+    if(out == null)
+      return;
+    try{
+      if(close)
+        out.close();
+      else
+        out.flush();
+    } catch(IOException e){
+      System.out.format("ERROR: IO error writing the MST edges: %s\n", e.getMessage());
+    }
+  }
+
+  /**
+   * The file modes print a single spanning tree, which a disconnected graph
+   * does not have. Reports the components and fails instead; 'mst -m' prints
+   * the minimum spanning forest.
+   */
+  private static boolean checkConnected(CSRAdjacency graph){
+    GraphComponents components = GraphComponents.of(graph);
+    if(components.isConnected())
+      return true;
+    System.out.format("ERROR: The graph is not connected: it has %d components, the largest with %d of %d vertices. Use 'mst -m' for its minimum spanning forest.\n\n",
+        components.getNumComponents(), components.getLargestSize(), graph.getNumVertices());
+    return false;
+  }
+
   private static void processRandomMode(int numVertices, double density){
-    Graph graph = GraphGenerator.generateGraph(numVertices, density); 
+    Graph graph = GraphGenerator.generateGraph(numVertices, Math.min(density, 1)); 
     System.out.println("Graph size = "+numVertices+", density = "+density);
     System.out.println();
     
-    System.out.println("Running simple scheme");
-    System.out.println("---------------------");
-    List<Edge> generatedMST = MSTGenerator.generateMST(new SimpleSchemeMSTGenerator(), graph);
-    printTimeAndCost(MSTGenerator.getRuntime(), generatedMST);
-    
-    System.out.println("Running f-heap scheme");
-    System.out.println("---------------------");
-    generatedMST = MSTGenerator.generateMST(new FHeapSchemeMSTGenerator(), graph);
-    printTimeAndCost(MSTGenerator.getRuntime(), generatedMST);
+    MSTGeneratorInterface[] generators = createGenerators();
+    for(int i = 0; i < generators.length; i++){
+      String title = "Running "+SCHEME_NAMES[i]+" scheme";
+      System.out.println(title);
+      System.out.println(title.replaceAll(".", "-"));
+      printStats(MSTGenerator.generateMST(generators[i], graph));
+    }
+  }
+
+  /**
+   * Same as random mode, on a graph in CSR form that the parallel generator
+   * creates from a seed, so that runs can be repeated on the same graph
+   */
+  private static void processSeededRandomMode(int numVertices, double density, long seed){
+    long start = System.nanoTime();
+    CSRGraph graph = GraphGenerator.generateCSRGraph(numVertices, Math.min(density, 1), seed);
+    System.out.println("Graph size = "+numVertices+", density = "+density+", seed = "+seed+", number of edges = "+graph.getNumEdges()
+        +" (generated in "+TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)+" millisec)");
+    System.out.println();
+
+    MSTGeneratorInterface[] generators = createGenerators();
+    for(int i = 0; i < generators.length; i++){
+      String title = "Running "+SCHEME_NAMES[i]+" scheme";
+      System.out.println(title);
+      System.out.println(title.replaceAll(".", "-"));
+      printStats(MSTGenerator.generateMST(generators[i], graph));
+    }
   }
 
-  private static void printTimeAndCost(long runtime, List<Edge> generatedMST){
-    System.out.format("Time taken:\t\t%d min, %d sec (%d millisec)\n", 
+  private static void printStats(MSTRunStats stats){
+    long runtime = TimeUnit.NANOSECONDS.toMillis(stats.getWallTime());
+    System.out.format("Time taken:\t\t%d min, %d sec (%d millisec, %d nanosec)\n", 
         TimeUnit.MILLISECONDS.toMinutes(runtime),
         TimeUnit.MILLISECONDS.toSeconds(runtime) - 
         TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(runtime)),
-        runtime
+        runtime,
+        stats.getWallTime()
     );
-    printTotalCostOfMST(generatedMST);
+    System.out.println("CPU time:\t\t"+formatMetric(stats.getCpuTime() < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(stats.getCpuTime()), "millisec"));
+    System.out.println("Allocated:\t\t"+formatMetric(stats.getAllocatedBytes(), "bytes"));
+    System.out.println("Garbage collections:\t"+formatMetric(stats.getGcCount(), "")+" ("+formatMetric(stats.getGcTime(), "millisec")+")");
+    System.out.println("Graph:\t\t\t"+stats.getNumVertices()+" vertices, "+stats.getNumEdges()+" edges");
+    System.out.println("Total cost of MST:\t"+stats.getMSTCost());
     System.out.println();
   }
 
-  private static void printTotalCostOfMST(List<Edge> generatedMST){
-    int totalCost = 0;
-    for(Edge MSTEdge: generatedMST){
-      totalCost += MSTEdge.getCost();
-    }
-    System.out.println("Total cost of MST:\t"+totalCost);
+  private static String formatMetric(long value, String unit){
+    if(value < 0)
+      return "n/a";
+    return unit.isEmpty() ? String.valueOf(value) : value+" "+unit;
   }
 
-  private static void printEdges(List<Edge> generatedMST){
+  /**
+   * Streams the edges of the MST to the console, without creating an Edge
+   * object per edge
+   */
+  private static void printEdges(MSTResult result){
     System.out.println("Edges in MST:");
-    for(Edge MSTEdge: generatedMST){
-      System.out.println(MSTEdge.getStart()+"\t"+MSTEdge.getFinish()+"\t"+MSTEdge.getCost());
+    Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+    try{
+      result.write(out);
+    } catch(IOException e){
+      System.out.format("ERROR: IO error writing the MST edges: %s\n", e.getMessage());
+    } finally{
+      closeOutput(out, false);
     }
     System.out.println();
   }
 
-  private static Graph createGraphFromFile(String cmd){
-    String[] params = cmd.split("\\s+");
-    String fileName = params[2];
-    BufferedReader br;
-    Graph graph = null;
-    
+  /**
+   * Loads a graph from either a binary graph file, which is memory-mapped, or
+   * a text graph file
+   */
+  private static CSRAdjacency loadGraph(String fileName){
+    File file = new File(fileName);
     try{
-      br = new BufferedReader(new FileReader(fileName));
-      String line = br.readLine();
-      String[] values = line.split("\\s+");
-      int numVertices = Integer.parseInt(values[0]);
-      int numEdges = Integer.parseInt(values[1]);
-      System.out.println("Graph size = "+numVertices+", number of edges = "+numEdges);
-      graph = new Graph(numVertices, 0); //density is ignored since we're going to manually add the edges
-      while ((line = br.readLine()) != null) {
-        values = line.split("\\s+");
-        int startNode = Integer.parseInt(values[0]);
-        int endNode = Integer.parseInt(values[1]);
-        int cost = Integer.parseInt(values[2]);
-        graph.getAdjList().get(startNode).add(new AdjListNode(endNode, new Edge(startNode, endNode, cost, false)));
-        graph.getAdjList().get(endNode).add(new AdjListNode(startNode, new Edge(endNode, startNode, cost, false)));
+      if(file.isFile() && CSRGraphFile.isGraphFile(file)){
+        CSRAdjacency graph = CSRGraphFile.map(file);
+        System.out.println("Graph size = "+graph.getNumVertices()+", number of edges = "+graph.getNumArcs() / 2+" (memory-mapped)");
+        return graph;
       }
-      br.close();
-    } catch(FileNotFoundException e){
+    } catch(IOException e){
+      System.out.format("ERROR: %s\n", e.getMessage());
+      return null;
+    }
+    return createGraphFromFile(fileName);
+  }
+
+  private static void writeBinaryGraphFile(String textFileName, String binaryFileName){
+    CSRAdjacency graph = createGraphFromFile(textFileName);
+    if(graph == null)
+      return;
+    try{
+      CSRGraphFile.write(graph, new File(binaryFileName));
+      System.out.println("Wrote "+binaryFileName+"\n");
+    } catch(IOException e){
+      System.out.format("ERROR: IO error writing to file %s.\n", binaryFileName);
+    }
+  }
+
+  /**
+   * Loads a text graph file onto the heap, or off the heap if the first line
+   * announces more edges than a CSRGraph can hold
+   */
+  private static CSRAdjacency createGraphFromFile(String fileName){
+    File file = new File(fileName);
+    CSRAdjacency graph = null;
+
+    if(!file.isFile()){
       System.out.format("ERROR: File %s not found.\n", fileName);
+      return null;
+    }
+    try{
+      if(2 * readNumEdges(file) > Integer.MAX_VALUE){
+        graph = OffHeapCSRGraph.load(file);
+        System.out.println("Graph size = "+graph.getNumVertices()+", number of edges = "+graph.getNumArcs() / 2+" (off-heap)");
+      } else{
+        graph = ParallelTextGraphLoader.load(file);
+        System.out.println("Graph size = "+graph.getNumVertices()+", number of edges = "+graph.getNumArcs() / 2);
+      }
+    } catch(GraphFormatException e){
+      System.out.format("ERROR: Malformed graph file %s.\n%s\n", fileName, e.getMessage());
     } catch(IOException e){
       System.out.format("ERROR: IO error reading from file %s.\n", fileName);
     }
     
     return graph;
   }
+
   
+  private static long readNumEdges(File file) throws IOException{
+    try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+      TextGraphParser parser = new TextGraphParser(channel);
+      parser.readHeader();
+      return parser.getNumEdges();
+    }
+  }
+
   public static void runRandomizedExperiment(){
     final int NUMRUNS  = 5;
     final int[] numVerticesArray = {1000, 3000, 5000};
     final int[] densityArray = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+    System.out.println("# average wall time per run in milliseconds");
+    System.out.println("# n, density, "+String.join(", ", SCHEME_NAMES));
     for(int numVertices: numVerticesArray){
       for(int density: densityArray){
-        long simpleSchemeRuntime = 0;
-        long fHeapSchemeRuntime = 0;
+        MSTGeneratorInterface[] generators = createGenerators();
+        long[] runtimes = new long[generators.length]; // nanoseconds
         for(int run = 0; run < NUMRUNS; run++){
           Graph graph = GraphGenerator.generateGraph(numVertices, density/100.0); 
           
-          MSTGenerator.generateMST(new SimpleSchemeMSTGenerator(), graph);
-          simpleSchemeRuntime += MSTGenerator.getRuntime();
-          
-          MSTGenerator.generateMST(new FHeapSchemeMSTGenerator(), graph);
-          fHeapSchemeRuntime += MSTGenerator.getRuntime();
+          for(int i = 0; i < generators.length; i++){
+            runtimes[i] += MSTGenerator.generateMST(generators[i], graph).getWallTime();
+          }
+        }
+        StringBuilder line = new StringBuilder(numVertices+", "+density);
+        for(long runtime: runtimes){
+          line.append(", ").append(String.format("%.3f", runtime / NUMRUNS / 1e6)); // milliseconds
         }
-        simpleSchemeRuntime = simpleSchemeRuntime / NUMRUNS;
-        fHeapSchemeRuntime = fHeapSchemeRuntime / NUMRUNS;
-        System.out.format("%d, %d, %d, %d\n",
-                          numVertices,
-                          density,
-                          simpleSchemeRuntime,
-                          fHeapSchemeRuntime);
+        System.out.println(line);
       }
     }
   }
@@ -184,10 +451,24 @@ public class mst{
   private static void printHelp(){
     System.out.println("Available commands:");
     System.out.println("'help'           \t: Prints this message");
-    System.out.println("'mst -r n d'     \t: Runs Prim's algorithm using both simple and f-heap schemes on a graph of size n and density d specified in %");
-    System.out.println("                 \t  Prints time taken by both schemes");
+    System.out.println("'mst -r n d [seed]'\t: Runs Prim's algorithm using the simple, f-heap (inserting all vertices up front and on discovery), d-heap, pairing heap and bucket queue schemes, and Kruskal's, Filter-Kruskal and parallel Boruvka's algorithms, on a graph of size n and density d specified in %");
+    System.out.println("                 \t  With a seed, the graph is generated in parallel and is the same for every run with that seed");
+    System.out.println("                 \t  Prints time taken by all schemes");
     System.out.println("'mst -s filename'\t: Runs Prim's algorithm using the simple scheme on a graph initialized from file 'filename'");
     System.out.println("'mst -f filename'\t: Runs Prim's algorithm using the f-heap scheme on a graph initialized from file 'filename'");
+    System.out.println("'mst -p filename'\t: Runs Prim's algorithm using the pairing heap scheme on a graph initialized from file 'filename'");
+    System.out.println("'mst -b filename'\t: Runs Prim's algorithm using the bucket queue scheme on a graph initialized from file 'filename'");
+    System.out.println("                 \t  (falls back to the d-heap scheme if weights are negative or above "+BucketSchemeMSTGenerator.DEFAULT_MAX_BUCKETED_WEIGHT+")");
+    System.out.println("'mst -d filename [arity]'\t: Runs Prim's algorithm using the d-heap scheme (default arity "+DaryHeapSchemeMSTGenerator.DEFAULT_ARITY+") on a graph initialized from file 'filename'");
+    System.out.println("'mst -k filename'\t: Runs Kruskal's algorithm on a graph initialized from file 'filename'");
+    System.out.println("'mst -l filename'\t: Runs the Filter-Kruskal algorithm on a graph initialized from file 'filename'");
+    System.out.println("'mst -o filename'\t: Runs Boruvka's algorithm on all cores on a graph initialized from file 'filename'");
+    System.out.println("'mst -c filename'\t: Runs all the schemes of 'mst -r' at the same time, each on its own thread, over one graph initialized from file 'filename'");
+    System.out.println("'mst -m filename'\t: Runs Prim's algorithm using the f-heap scheme on every connected component of a graph initialized from file 'filename',");
+    System.out.println("                 \t  on all cores, and prints the minimum spanning forest");
+    System.out.println("'mst -e filename budget [outputfile]'\t: Runs Kruskal's algorithm with an external sort on a text graph file 'filename' that is too large to load, within a memory budget of");
+    System.out.println("                 \t  'budget' MB (the JVM heap must be larger); MST edges are streamed to 'outputfile' or to the console");
+    System.out.println("'mst -w textfile binaryfile'\t: Converts the graph in text file 'textfile' to the binary format, which the file modes above memory-map instead of parsing");
     System.out.println("'runexperiment'  \t: Runs the randomized mode experiment outlined in the project description");
     System.out.println("'exit'           \t: Quits this program");
     System.out.println();